@@ -4,6 +4,9 @@ if ("--del-all" -in $args) {
     del bin/* -Recurse
 }
 
+# Other options are given to the game
+$gameArgs = @($args | Where-Object { $_ -ne "--del-all" -and $_ -ne "--test" })
+
 # Check if test or main project is going to be compiled
 if ("--test" -in $args) {
     Write-Host "Compilation projet test..." -ForegroundColor "Yellow"
@@ -16,5 +19,5 @@ if ("--test" -in $args) {
 # Proceed to compile and launch main
 javac -d ../../../bin *.java
 cd ../../../bin
-java Main
+java Main @gameArgs
 cd ..
\ No newline at end of file
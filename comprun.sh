@@ -5,6 +5,14 @@ if [[ "$@" =~ --del-all ]]; then
 fi
 
 
+# Other options are given to the game
+game_args=()
+for arg in "$@"; do
+    if [[ "$arg" != --del-all && "$arg" != --test ]]; then
+        game_args+=("$arg")
+    fi
+done
+
 # Check if test or main project is going to be compiled
 if [[ "$@" =~ --test ]]; then
     echo -e '\033[0;33mCompilation projet test...\033[0m'
@@ -17,5 +25,5 @@ fi
 # Proceed to compile and launch main
 javac -d ../../../bin *.java
 cd ../../../bin/
-java Main
+java Main "${game_args[@]}"
 cd ..
\ No newline at end of file
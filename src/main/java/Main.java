@@ -53,6 +53,8 @@
  * This is the file that should be launched.
  */
 
+import graphics.Assets;
+import graphics.FrameStats;
 import graphics.Window;
 
 /**
@@ -63,11 +65,32 @@ import graphics.Window;
  * @brief The main class, only contains the main function.
  */
 public class Main {
+    /** @brief The number of frames drawn before the `--assets` report, a few seconds of game. */
+    static final int REPORT_FRAMES = 300;
+
     /**
      * @brief The main function, calls a new Window only.
+     * 
+     * Options :
+     * - `--active` draws frames from a render thread instead of Swing repaints.
+     * - `--assets` prints the resident assets once the first frames are drawn.
+     * - `--profile` logs frame times every second.
+     * 
      * @param args The arguments given in the console.
      */
     public static void main(String[] args) {
-        new Window(false);
+        boolean isActive = false;
+
+        for (String arg : args) {
+            if (arg.equals("--profile")) {
+                FrameStats.setEnabled(true);
+            } else if (arg.equals("--active")) {
+                isActive = true;
+            } else if (arg.equals("--assets")) {
+                Assets.reportAfter(REPORT_FRAMES);
+            }
+        }
+
+        new Window(false, isActive);
     }
 }
@@ -1,10 +1,11 @@
 package character;
 
-import geometry.Vector2D;
-
 public class Dragon extends Monster {
     public int zone;
 
+    /** @brief The constants of a Dragon, stronger than a Monster of the same zone. */
+    private static final Kind DRAGON = new Kind(5, 4, 3, 15, 250, 30, 15, 20);
+
     /**
      * @brief Constructor for Monster with specified coordinates.
      *
@@ -16,17 +17,21 @@ public class Dragon extends Monster {
      * @param y      The y-coordinate of the Monster.
      */
     public Dragon(double x, double y, Player player, int zone) {
-        super(x, y, player, zone);
-        this.setAnimations("dragon/");
-        this.coordinates = new Vector2D(x, y);
-        this.isFacingLeft = false;
+        super(x, y, player, zone, "dragon/", DRAGON);
         this.zone = zone;
+    }
 
-        int attack = Math.min((int)Math.floor(Math.random() * (player.level + 5)) + (zone - 1) * 4 + 3, zone * 15);
-        int speed = Math.min((int)Math.floor(Math.random() * (player.level + 5)) + (zone - 1) * 4 + 3, zone * 15);
-        int defence = Math.min((int)Math.floor(Math.random() * (player.level + 5)) + (zone - 1) * 4 + 3, zone * 15);
-
-        this.stats = new EntityStats((zone + 1) * 250, 100, speed, attack, 1, defence);
-        this.xp = 20 * defence + 30 * attack + 15 * speed;
+    /**
+     * @brief Brings a removed Dragon back, as if it was created again.
+     *
+     * @param x      The x-coordinate of the Dragon.
+     * @param y      The y-coordinate of the Dragon.
+     * @param player The player the Dragon will fight.
+     * @param zone   The zone of the Dragon, 5 for the boss.
+     */
+    @Override
+    public void respawn(double x, double y, Player player, int zone) {
+        super.respawn(x, y, player, zone);
+        this.zone = zone;
     }
 }
@@ -13,14 +13,14 @@
 package character;
 
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
-
-import javax.swing.Timer;
 
 import geometry.Vector2D;
 
 import graphics.Animation;
+import graphics.Assets;
 import graphics.Collision;
+import graphics.SpatialGrid;
+import graphics.TimingWheel;
 
 /**
  * @class Entity
@@ -41,6 +41,10 @@ public abstract class Entity {
 
     /** @brief The coordinates in absolute positions */
     public Vector2D coordinates;
+    /** @brief The coordinates at the end of the previous simulation tick, used for rendering */
+    protected Vector2D previousCoordinates;
+    /** @brief The cell of the spatial grid the entity is in, -1 if none */
+    private int gridCell = -1;
     /** @brief The height of the entity */
     public int height;
     /** @brief The width of the entity */
@@ -51,16 +55,12 @@ public abstract class Entity {
     protected EntityStats stats;
     /** @brief State if is attacking */
     protected boolean isAttacking;
-    /** @brief State if is attacking */
+    /** @brief State if the attack cooldown is over */
     protected boolean canAttack = true;
-    /** @brief State if is attacking */
-    public int attackCooldown = 0;
-    /** @brief State if is attacking */
-    protected Timer attackTimer;
-    /** @brief State if is attacking */
-    protected int hitstunCooldown = 0;
-    /** @brief State if is attacking */
-    protected Timer hitstunTimer;
+    /** @brief Ends the attack cooldown, see @ref attack */
+    protected final TimingWheel.Timer attackTimer = new TimingWheel.Timer(this::endAttackCooldown);
+    /** @brief Ends the hitstun, see @ref getDamage */
+    protected final TimingWheel.Timer hitstunTimer = new TimingWheel.Timer(this::endHitstun);
     /** @brief State if is facing left */
     protected boolean isFacingLeft;
     /** @brief State if is dodging */
@@ -74,7 +74,7 @@ public abstract class Entity {
     protected boolean isBeingHit = false;
 
     /** @brief The last registered movement before dodging */
-    protected Vector2D bufferedMovement;
+    protected Vector2D bufferedMovement = new Vector2D();
 
     /** @brief The Animation currently playing */
     public Animation current;
@@ -106,6 +106,9 @@ public abstract class Entity {
     protected Animation leftTakesDamage;
     protected Animation rightTakesDamage;
 
+    /** @brief All the animations above, to reset them together, null if not loaded */
+    private Animation[] animations;
+
     /**
      * @brief Checks if the given entity is an instance of the Monster class.
      *
@@ -148,6 +151,46 @@ public abstract class Entity {
         return this.coordinates;
     }
 
+    /**
+     * @brief Get the spatial grid cell the entity is stored in.
+     * @return The cell index, -1 if not in a grid.
+     * @see graphics.SpatialGrid
+     */
+    public int getGridCell() {
+        return this.gridCell;
+    }
+
+    /**
+     * @brief Set the spatial grid cell the entity is stored in, only the grid should call it.
+     * @param cell The cell index, -1 if not in a grid.
+     * @see graphics.SpatialGrid
+     */
+    public void setGridCell(int cell) {
+        this.gridCell = cell;
+    }
+
+    /**
+     * @brief Remember the current position as the previous simulation state.
+     * 
+     * Should be called at the start of each simulation tick, before the entity moves.
+     */
+    public void savePosition() {
+        if (this.previousCoordinates == null) {
+            this.previousCoordinates = new Vector2D(this.coordinates.x, this.coordinates.y);
+        } else {
+            this.previousCoordinates.x = this.coordinates.x;
+            this.previousCoordinates.y = this.coordinates.y;
+        }
+    }
+
+    /**
+     * @brief Get the position at the end of the previous simulation tick.
+     * @return The previous position, or the current one if the entity didn't move yet.
+     */
+    public Vector2D getPreviousPosition() {
+        return this.previousCoordinates == null ? this.coordinates : this.previousCoordinates;
+    }
+
     /**
      * @brief Use this function to return offsets depending on contexts and sprites.
      * @return A Vector2D representing offset to apply (specific to base sprite).
@@ -161,7 +204,7 @@ public abstract class Entity {
      * @param speed Set a custom speed to the character.
      * @param others Set of other entities that will be collided.
      */
-    public void move(double dx, double dy, double speed, ArrayList<Entity> others) {
+    public void move(double dx, double dy, double speed, SpatialGrid others) {
         // Dodge state setter
         if (isDodging && !current.isPlaying()) {
             isDodging = false;
@@ -206,23 +249,28 @@ public abstract class Entity {
             }
         }
 
-        bufferedMovement = new Vector2D(dx, dy);
+        bufferedMovement.x = dx;
+        bufferedMovement.y = dy;
         bufferedMovement.normalize();
-        bufferedMovement = Vector2D.scale(bufferedMovement, speed);
+        bufferedMovement.x *= speed;
+        bufferedMovement.y *= speed;
 
-        Vector2D horizontalMovement = new Vector2D(coordinates.x + (isDodging ? bufferedMovement.x * 3 : bufferedMovement.x), coordinates.y);
-        Vector2D verticalMovement = new Vector2D(coordinates.x, coordinates.y + (isDodging ? bufferedMovement.y * 3 : bufferedMovement.y));
+        double factor = isDodging ? 3 : 1;
 
-        if (Collision.checkCollision(this, horizontalMovement, others)) {
+        if (Collision.checkCollision(this, coordinates.x + bufferedMovement.x * factor, coordinates.y, others)) {
             bufferedMovement.x = 0;
         }
 
-        if (Collision.checkCollision(this, verticalMovement, others)) {
+        if (Collision.checkCollision(this, coordinates.x, coordinates.y + bufferedMovement.y * factor, others)) {
             bufferedMovement.y = 0;
         }
 
-        this.coordinates.x += isDodging ? bufferedMovement.x * 3 : bufferedMovement.x;
-        this.coordinates.y += isDodging ? bufferedMovement.y * 3 : bufferedMovement.y;
+        this.coordinates.x += bufferedMovement.x * factor;
+        this.coordinates.y += bufferedMovement.y * factor;
+
+        if (others != null) {
+            others.update(this);
+        }
     }
 
     /**
@@ -230,7 +278,7 @@ public abstract class Entity {
      * @param movement The [dx, dy] vector.
      * @param others Set of other entities that will be collided.
      */
-    public void move(Vector2D movement, ArrayList<Entity> others) {
+    public void move(Vector2D movement, SpatialGrid others) {
         this.move(movement.x, movement.y, 1, others);
     }
 
@@ -240,7 +288,7 @@ public abstract class Entity {
      * @param speed Set a custom speed to the character.
      * @param others Set of other entities that will be collided.
      */
-    public void move(Vector2D movement, double speed, ArrayList<Entity> others) {
+    public void move(Vector2D movement, double speed, SpatialGrid others) {
         this.move(movement.x, movement.y, speed, others);
     }
 
@@ -250,7 +298,7 @@ public abstract class Entity {
      * @param dy y coordinate of vector.
      * @param others Set of other entities that will be collided.
      */
-    public void move(double dx, double dy, ArrayList<Entity> others) {
+    public void move(double dx, double dy, SpatialGrid others) {
         this.move(dx, dy, 1, others);
     }
 
@@ -274,31 +322,70 @@ public abstract class Entity {
      * @brief Stops the moving animation
      */
     public void stopMoving() {
-        move(new Vector2D(0, 0), null);
+        move(0, 0, 1, null);
         swapAnimation(AnimationIndex.STANDING);
     }
 
+    /** @brief The hitstun duration, in milliseconds. */
+    public static final long HITSTUN_DURATION = 250;
+
     /**
      * @brief Put the entity into attack state.
+     * 
+     * The entity won't be able to attack again until the cooldown is over.
      */
     public void attack() {
         if (!this.isAttacking && !this.isDodging && this.canAttack && !this.isBeingHit) {
-            attackTimer = new Timer(0, e -> {
-                this.attackCooldown++;
-    
-                if (this.attackCooldown > (1000 - this.stats.getSpeed() * 80)) { // 50 * (1000 - this.stats.getSpeed() * 80)) {  // <-- Linux
-                    attackCooldown = 0;
-                    this.canAttack = true;
-                    this.attackTimer.stop();
-                }
-            });
             isAttacking = true;
             this.canAttack = false;
-            attackTimer.start();
+            TimingWheel.get().schedule(this.attackTimer, TimingWheel.get().ticks(getAttackCooldownDuration()));
             swapAnimation(AnimationIndex.ATTACK);
         }
     }
 
+    /**
+     * @brief Get the attack cooldown duration, depending on the entity speed.
+     * @return The duration in milliseconds.
+     */
+    public long getAttackCooldownDuration() {
+        return Math.max(0, Math.round(1000 - this.stats.getSpeed() * 80));
+    }
+
+    /**
+     * @brief Get the progress of the attack cooldown.
+     * @return A value between 0 and 1, 0 when the entity can attack.
+     */
+    public double getAttackCooldownPercent() {
+        if (this.canAttack) {
+            return 0;
+        }
+
+        return this.attackTimer.getProgress();
+    }
+
+    /**
+     * @brief End the attack cooldown, so the entity can attack again.
+     */
+    private void endAttackCooldown() {
+        this.canAttack = true;
+    }
+
+    /**
+     * @brief End the hitstun, once @ref HITSTUN_DURATION of game time is over.
+     */
+    private void endHitstun() {
+        this.isBeingHit = false;
+        this.currentState = EntityState.NORMAL;
+    }
+
+    /**
+     * @brief Cancel the entity timers, should be called when it is removed from the game.
+     */
+    public void cancelTimers() {
+        this.attackTimer.cancel();
+        this.hitstunTimer.cancel();
+    }
+
     /**
      * @brief Get the attacking state of the entity.
      * @return The attacking state.
@@ -391,24 +478,14 @@ public abstract class Entity {
      * Inflicts damage on the entity, putting it in a hit stun state.
      * This method changes the entity's state to EntityState.HITSTUN and
      * swaps its animation to a damage animation.
+     * The hit stun lasts @ref HITSTUN_DURATION of game time.
      */
     public void getDamage(Entity attacker) {
         if (this.isBeingHit == false) {
             this.isBeingHit = true;
             int amount = EntityStats.computeDamage(attacker.stats.getAttack(), stats.getDefence());
             this.stats.takeDamage(isBlocking ? amount / 2 : amount);
-
-            this.hitstunTimer = new Timer(0, e -> {
-                this.hitstunCooldown++;
-
-                if (this.hitstunCooldown > 80) { // * 120) {  // <-- Linux
-                    this.hitstunCooldown = 0;
-                    this.isBeingHit = false;
-                    this.currentState = EntityState.NORMAL;
-                    this.hitstunTimer.stop();
-                }
-            });
-            this.hitstunTimer.start();
+            TimingWheel.get().schedule(this.hitstunTimer, TimingWheel.get().ticks(HITSTUN_DURATION));
         }
 
         this.currentState = EntityState.HITSTUN;
@@ -432,6 +509,27 @@ public abstract class Entity {
      */
     public void setPosition(double x, double y) {
         this.coordinates = new Vector2D(x, y);
+        this.previousCoordinates = null;
+    }
+
+    /** @brief The frames names of all basic animations, see @ref setAnimations. */
+    private static final String[] ANIMATION_NAMES = {
+        "standing", "leftrun", "rightrun", "leftattack", "rightattack", "rightdodge", "leftdodge",
+        "rightblock", "leftblock", "rightstandblock", "leftstandblock", "rightwalkblock", "leftwalkblock",
+        "righttakesdamage", "lefttakesdamage"
+    };
+
+    /**
+     * @brief Load all basic animations frames of a folder without creating an entity.
+     * 
+     * Calling this before the game starts means spawning entities later won't read any file.
+     * 
+     * @param dir The folder contaning all frames.
+     */
+    public static void preloadAnimations(String dir) {
+        for (String name : ANIMATION_NAMES) {
+            Assets.getFrames(Animation.RESOURCES_FOLDER + dir, name);
+        }
     }
 
     /**
@@ -454,6 +552,49 @@ public abstract class Entity {
         leftBlockWalk = Animation.load("leftwalkblock", Animation.RESOURCES_FOLDER + dir, 10);
         leftTakesDamage = Animation.load("righttakesdamage", Animation.RESOURCES_FOLDER + dir, 60);
         rightTakesDamage = Animation.load("lefttakesdamage", Animation.RESOURCES_FOLDER + dir, 60);
+        animations = new Animation[] {
+            standing, leftRun, rightRun, leftAttack, rightAttack, rightDodge, leftDodge, rightBlock, leftBlock,
+            rightBlockStand, leftBlockStand, rightBlockWalk, leftBlockWalk, leftTakesDamage, rightTakesDamage
+        };
+        current = standing;
+        current.play();
+    }
+
+    /**
+     * @brief Put the entity back in the state it was created in, at a new position.
+     * 
+     * Cancels its timers, clears all state flags and rewinds its animations, without
+     * allocating anything. The entity must not be in a spatial grid.
+     * 
+     * @param x The new x-coordinate.
+     * @param y The new y-coordinate.
+     */
+    protected void reset(double x, double y) {
+        cancelTimers();
+
+        this.coordinates.setTo(x, y);
+        if (this.previousCoordinates != null) {
+            this.previousCoordinates.setTo(x, y);
+        }
+        this.bufferedMovement.setTo(0, 0);
+
+        this.isAttacking = false;
+        this.canAttack = true;
+        this.isFacingLeft = false;
+        this.isDodging = false;
+        this.isBlocking = false;
+        this.isActive = true;
+        this.isInitiatingBlock = false;
+        this.isBeingHit = false;
+        this.currentState = null;
+
+        for (Animation animation : animations) {
+            // Animations without frames are not loaded
+            if (animation != null) {
+                animation.reset();
+            }
+        }
+
         current = standing;
         current.play();
     }
@@ -39,6 +39,8 @@ public class EntityStats {
     private double power;
     /** @brief The defence reduces the amout of damage taken */
     private double defence;
+    /** @brief Called when any stat changes, can be null */
+    private Runnable onChange;
 
     /**
      * @brief Creates a new EntityStats with given stats
@@ -58,6 +60,28 @@ public class EntityStats {
         this.defence = defence;
     }
 
+    /**
+     * @brief Give new stats in place, as if created again with these stats
+     * 
+     * Health and ether are full. Used to recycle monsters without allocating.
+     * 
+     * @param health The entity max health 
+     * @param ether The entity max ether
+     * @param speed The entity speed and attack speed
+     * @param attack The entity physical damage
+     * @param power The entity magical damage
+     * @param defence The entity defence
+     */
+    public void reset(int health, int ether, double speed, double attack, double power, double defence) {
+        this.health.reset(health);
+        this.ether.reset(ether);
+        this.speed = speed;
+        this.attack = attack;
+        this.power = power;
+        this.defence = defence;
+        changed();
+    }
+
     /**
      * @brief Getter for health
      * @return health
@@ -106,6 +130,25 @@ public class EntityStats {
         return defence;
     }
 
+    /**
+     * @brief Sets the function called when any stat changes, including health and ether.
+     * @param onChange The function to call, or null
+     */
+    public void setOnChange(Runnable onChange) {
+        this.onChange = onChange;
+        this.health.setOnChange(onChange);
+        this.ether.setOnChange(onChange);
+    }
+
+    /**
+     * @brief Notify that a stat changed
+     */
+    private void changed() {
+        if (onChange != null) {
+            onChange.run();
+        }
+    }
+
     /**
      * @brief Sets the entity new max health and keep the old health points.
      * @param newMax The new max health
@@ -114,6 +157,8 @@ public class EntityStats {
         int current = health.get();
         health = new Range(newMax);
         health.set(current);
+        health.setOnChange(onChange);
+        changed();
     }
 
     /**
@@ -149,6 +194,8 @@ public class EntityStats {
         int current = ether.get();
         ether = new Range(newMax);
         ether.set(current);
+        ether.setOnChange(onChange);
+        changed();
     }
 
     /**
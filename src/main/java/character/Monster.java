@@ -1,8 +1,8 @@
 package character;
 
-import java.util.ArrayList;
-
 import geometry.Vector2D;
+import graphics.SpatialGrid;
+import graphics.TimingWheel;
 
 /**
  * @brief Represents a Monster entity in the game.
@@ -14,6 +14,64 @@ import geometry.Vector2D;
 public class Monster extends Entity {
     public int xp;
 
+    /** @brief Sprite offset, shared as it is read for every collision and frame. Must not be modified. */
+    private static final Vector2D NO_OFFSET = new Vector2D();
+
+    /**
+     * @class Kind
+     * @brief The constants used to draw the stats of a kind of monster.
+     *
+     *        Each of attack, speed and defence is a random number below the
+     *        player level plus @ref spread, plus @ref zoneStep per zone after the
+     *        first and @ref base, capped at @ref zoneCap per zone.
+     */
+    protected static final class Kind {
+        /** @brief Added to the player level to get the random part range. */
+        final int spread;
+        /** @brief Added for each zone after the first. */
+        final int zoneStep;
+        /** @brief Added to every stat. */
+        final int base;
+        /** @brief Maximum of a stat for each zone. */
+        final int zoneCap;
+        /** @brief Health for each zone, plus one zone. */
+        final int zoneHealth;
+        /** @brief Experience given for each attack point. */
+        final int attackXp;
+        /** @brief Experience given for each speed point. */
+        final int speedXp;
+        /** @brief Experience given for each defence point. */
+        final int defenceXp;
+
+        /**
+         * @brief Creates the constants of a kind of monster.
+         * @param spread     Added to the player level to get the random part range.
+         * @param zoneStep   Added for each zone after the first.
+         * @param base       Added to every stat.
+         * @param zoneCap    Maximum of a stat for each zone.
+         * @param zoneHealth Health for each zone, plus one zone.
+         * @param attackXp   Experience given for each attack point.
+         * @param speedXp    Experience given for each speed point.
+         * @param defenceXp  Experience given for each defence point.
+         */
+        Kind(int spread, int zoneStep, int base, int zoneCap, int zoneHealth, int attackXp, int speedXp, int defenceXp) {
+            this.spread = spread;
+            this.zoneStep = zoneStep;
+            this.base = base;
+            this.zoneCap = zoneCap;
+            this.zoneHealth = zoneHealth;
+            this.attackXp = attackXp;
+            this.speedXp = speedXp;
+            this.defenceXp = defenceXp;
+        }
+    }
+
+    /** @brief The constants of a Monster. */
+    private static final Kind MONSTER = new Kind(3, 3, 1, 10, 50, 15, 8, 10);
+
+    /** @brief The constants used to draw the stats. */
+    private final Kind kind;
+
     /**
      * @brief Default constructor for Monster.
      *
@@ -34,34 +92,78 @@ public class Monster extends Entity {
      * @param y      The y-coordinate of the Monster.
      */
     public Monster(double x, double y, Player player, int zone) {
-        this.setAnimations("monster/");
+        this(x, y, player, zone, "monster/", MONSTER);
+    }
+
+    /**
+     * @brief Constructor for Monster with specified coordinates, sprites and stats.
+     *
+     * @param x         The x-coordinate of the Monster.
+     * @param y         The y-coordinate of the Monster.
+     * @param spriteDir The folder containing the Monster frames.
+     * @param kind      The constants used to draw the stats.
+     */
+    protected Monster(double x, double y, Player player, int zone, String spriteDir, Kind kind) {
+        this.setAnimations(spriteDir);
         this.coordinates = new Vector2D(x, y);
         this.isFacingLeft = false;
+        this.stats = new EntityStats(1, 100, 0, 0, 1, 0);
+        this.kind = kind;
+
+        rollStats(player, zone);
+    }
+
+    /**
+     * @brief Draws random stats in place, depending on the player level and the zone.
+     *
+     * @param player The player the Monster will fight.
+     * @param zone   The zone of the Monster.
+     */
+    private void rollStats(Player player, int zone) {
+        int attack = rollStat(player, zone);
+        int speed = rollStat(player, zone);
+        int defence = rollStat(player, zone);
 
-        int attack = Math.min((int)Math.floor(Math.random() * (player.level + 3)) + (zone - 1) * 3 + 1, zone * 10);
-        int speed = Math.min((int)Math.floor(Math.random() * (player.level + 3)) + (zone - 1) * 3 + 1, zone * 10);
-        int defence = Math.min((int)Math.floor(Math.random() * (player.level + 3)) + (zone - 1) * 3 + 1, zone * 10);
+        this.stats.reset((zone + 1) * kind.zoneHealth, 100, speed, attack, 1, defence);
+        this.xp = kind.defenceXp * defence + kind.attackXp * attack + kind.speedXp * speed;
+    }
+
+    /**
+     * @brief Draws one random stat, see @ref Kind.
+     * @param player The player the Monster will fight.
+     * @param zone   The zone of the Monster.
+     * @return The stat.
+     */
+    private int rollStat(Player player, int zone) {
+        return Math.min((int)Math.floor(Math.random() * (player.level + kind.spread)) + (zone - 1) * kind.zoneStep + kind.base, zone * kind.zoneCap);
+    }
 
-        this.stats = new EntityStats((zone + 1) * 50, 100, speed, attack, 1, defence);
-        this.xp = 10 * defence + 15 * attack + 8 * speed;
+    /**
+     * @brief Brings a removed Monster back, as if it was created again.
+     *
+     *        Used by MonsterPool, so spawning doesn't allocate a new Monster.
+     *
+     * @param x      The x-coordinate of the Monster.
+     * @param y      The y-coordinate of the Monster.
+     * @param player The player the Monster will fight.
+     * @param zone   The zone of the Monster.
+     * @see character.MonsterPool
+     */
+    public void respawn(double x, double y, Player player, int zone) {
+        reset(x, y);
+        rollStats(player, zone);
     }
 
 
     /**
      * @brief Gets the offset for rendering based on the attack state.
      *
-     *        If the Monster is attacking, the offset is adjusted based on its
-     *        facing
-     *        direction.
+     *        Monster sprites are centered in all states, so there is no offset.
      *
      * @return The offset vector for rendering.
      */
     public Vector2D getOffset() {
-        if (isAttacking) {
-            return new Vector2D(isFacingLeft ? 0 : 0, 0);
-        }
-
-        return new Vector2D();
+        return NO_OFFSET;
     }
 
     /**
@@ -72,17 +174,15 @@ public class Monster extends Entity {
      * 
      * @param others Set of other entities that will be collided.
      */
-    public void randMovement(ArrayList<Entity> others) {
+    public void randMovement(SpatialGrid others) {
         double randomX = Math.random() - 0.5;
         double randomY = Math.random() - 0.5;
 
-        Vector2D delta = new Vector2D(randomX * 0.25, randomY * 0.25);
-        Vector2D randomMovement = Vector2D.add(bufferedMovement, delta);
-        
-        move(randomMovement, stats.getSpeed() / 10 + 0.5, others);
+        move(bufferedMovement.x + randomX * 0.25, bufferedMovement.y + randomY * 0.25, stats.getSpeed() / 10 + 0.5, others);
     }
 
-    public static double attackCooldownTimer;
+    /** @brief Keeps the monster from trying another attack until it ends, see @ref tryAttack. */
+    private final TimingWheel.Timer attackTryTimer = new TimingWheel.Timer(() -> {});
 
     /**
      * @brief Tries to perform an attack based on specified conditions.
@@ -90,27 +190,33 @@ public class Monster extends Entity {
      *        This method attempts to perform an attack for a Monster towards a
      *        player based on
      *        specified conditions such as attack radius, attack probability, and
-     *        cooldown.
+     *        cooldown. Each monster has its own cooldown.
      *
      * @param monster           The Monster attempting to attack.
      * @param player            The player character being attacked.
      * @param difference        The vector representing the difference in positions.
      * @param attackProbability The probability of a successful attack.
-     * @param cooldown          The cooldown period for the attack.
+     * @param cooldown          The cooldown period for the attack, in milliseconds.
      */
     public static void tryAttack(Monster monster, Player player, Vector2D difference, double attackProbability,
-            double cooldown) {
+            long cooldown) {
         double attackRadius = 150.0;
 
-        if (attackCooldownTimer <= 0 && difference.norm() <= attackRadius) {
+        if (!monster.attackTryTimer.isPending() && difference.norm() <= attackRadius) {
             double randomValue = Math.random() * 100;
             if (randomValue < attackProbability) {
                 monster.attack();
-                attackCooldownTimer = cooldown;
+                TimingWheel.get().schedule(monster.attackTryTimer, TimingWheel.get().ticks(cooldown));
             }
         }
-        if (attackCooldownTimer > 0) {
-            attackCooldownTimer--;
-        }
+    }
+
+    /**
+     * @brief Cancel the monster timers, including the attack cooldown.
+     */
+    @Override
+    public void cancelTimers() {
+        super.cancelTimers();
+        this.attackTryTimer.cancel();
     }
 }
@@ -0,0 +1,95 @@
+/**
+ * @brief This file contains the public class MonsterPool.
+ *
+ * @file MonsterPool.java
+ * @author agent
+ * @date 17/10/2026
+ *
+ * Part of the `character` package.
+ * It contains a class that recycles removed monsters.
+ */
+
+package character;
+
+import java.util.ArrayList;
+
+/**
+ * @class MonsterPool
+ * @author agent
+ * @date 17/10/2026
+ *
+ * @brief This class keeps removed monsters of one kind to spawn them again.
+ *
+ * A monster brings its stats and a full set of animations. Instead of creating a
+ * new one at each spawn, a monster given back with @ref release is brought back by
+ * @ref obtain with a new position and new stats, see Monster.respawn. Once enough
+ * monsters were created for the busiest part of the map, spawning allocates nothing.
+ *
+ * There should be one pool per kind of monster, as a Dragon can't be brought back
+ * as a Monster.
+ *
+ * @warning It must only be used by the simulation thread.
+ * @see character.Monster#respawn
+ */
+public class MonsterPool<T extends Monster> {
+    /**
+     * @interface Factory
+     * @brief Creates a monster when the pool is empty.
+     */
+    public interface Factory<T extends Monster> {
+        /**
+         * @brief Create a monster.
+         * @param x      The x-coordinate of the monster.
+         * @param y      The y-coordinate of the monster.
+         * @param player The player the monster will fight.
+         * @param zone   The zone of the monster.
+         * @return The new monster.
+         */
+        T create(double x, double y, Player player, int zone);
+    }
+
+    /** @brief Creates monsters when none is free. */
+    private Factory<T> factory;
+    /** @brief The removed monsters, ready to spawn again. */
+    private ArrayList<T> free;
+
+    /**
+     * @brief Creates an empty pool.
+     * @param factory Creates monsters when none is free, usually a constructor reference.
+     */
+    public MonsterPool(Factory<T> factory) {
+        this.factory = factory;
+        this.free = new ArrayList<>();
+    }
+
+    /**
+     * @brief Get a monster, reusing a removed one if possible.
+     * @param x      The x-coordinate of the monster.
+     * @param y      The y-coordinate of the monster.
+     * @param player The player the monster will fight.
+     * @param zone   The zone of the monster.
+     * @return A monster in the same state as a new one.
+     */
+    public T obtain(double x, double y, Player player, int zone) {
+        if (free.isEmpty()) {
+            return factory.create(x, y, player, zone);
+        }
+
+        T monster = free.remove(free.size() - 1);
+        monster.respawn(x, y, player, zone);
+        return monster;
+    }
+
+    /**
+     * @brief Give back a monster removed from the game.
+     *
+     * Its timers are cancelled at once. It must not be used anymore, nor be in a
+     * spatial grid.
+     *
+     * @param monster The removed monster.
+     */
+    public void release(T monster) {
+        monster.cancelTimers();
+        free.add(monster);
+    }
+}
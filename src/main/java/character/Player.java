@@ -11,7 +11,10 @@
 
 package character;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import geometry.Vector2D;
+import graphics.TimingWheel;
 
 /**
  * @class Player
@@ -27,6 +30,30 @@ public class Player extends Entity {
     public int xp = 0;
     public int skillPoints = 0;
 
+    /** @brief Sprite offsets, shared as they are read for every collision and frame. Must not be modified. */
+    private static final Vector2D NO_OFFSET = new Vector2D();
+    private static final Vector2D ATTACK_LEFT_OFFSET = new Vector2D(16, 0);
+    private static final Vector2D ATTACK_RIGHT_OFFSET = new Vector2D(-16, 0);
+
+    /** @brief The time without being hit before regeneration starts, in milliseconds. */
+    public static final long REGEN_DELAY = 4000;
+    /** @brief The time between the first two regenerated points, in milliseconds. */
+    public static final long REGEN_INTERVAL = 1000;
+    /** @brief How much faster each regenerated point comes, in milliseconds. */
+    public static final long REGEN_ACCELERATION = 40;
+    /** @brief The minimum time between two regenerated points, in milliseconds. */
+    public static final long REGEN_MIN_INTERVAL = 4;
+
+    /** @brief Regenerates the next point, see @ref regenerate. */
+    private final TimingWheel.Timer regenTimer = new TimingWheel.Timer(this::regenerate);
+    /** @brief The number of points regenerated since last hit. */
+    private int regenCount = 0;
+
+    /** @brief The last revision given to a player, so a new player never reuses one. */
+    private static final AtomicInteger lastHudRevision = new AtomicInteger();
+    /** @brief Changes each time something shown by the HUD changes, see @ref getHudRevision. */
+    private int hudRevision = lastHudRevision.incrementAndGet();
+
     /**
      * @brief Default constructor.
      * 
@@ -49,6 +76,100 @@ public class Player extends Entity {
         this.coordinates = new Vector2D(x, y);
         this.isFacingLeft = false;
         this.stats = new EntityStats(100, 100, 3, 3, 5, 3);
+        this.stats.setOnChange(this::invalidateHud);
+        resetRegen();
+    }
+
+    /**
+     * @brief Regenerate a health point and schedule the next one.
+     * 
+     * Health starts to regenerate after @ref REGEN_DELAY without being hit, each
+     * point coming faster than the previous one.
+     */
+    private void regenerate() {
+        this.regenCount++;
+        this.stats.heal(1);
+        TimingWheel.get().schedule(this.regenTimer, TimingWheel.get().ticks(Math.max(REGEN_MIN_INTERVAL, REGEN_INTERVAL - this.regenCount * REGEN_ACCELERATION)));
+    }
+
+    /**
+     * @brief Restart the regeneration delay, should be called when the player is attacked.
+     */
+    public void resetRegen() {
+        this.regenCount = 0;
+        TimingWheel.get().schedule(this.regenTimer, TimingWheel.get().ticks(REGEN_DELAY));
+    }
+
+    /**
+     * @brief Cancel the player timers, including health regeneration.
+     */
+    @Override
+    public void cancelTimers() {
+        super.cancelTimers();
+        this.regenTimer.cancel();
+    }
+
+    /**
+     * @brief Get the experience needed to reach next level.
+     * @return The experience needed.
+     */
+    public int getXpToNextLevel() {
+        return level * 250 + 500;
+    }
+
+    /**
+     * @brief Gain experience, leveling up as many times as needed.
+     * 
+     * Each level gives 5 skill points.
+     * 
+     * @param amount The experience gained.
+     */
+    public void gainXp(int amount) {
+        xp += amount;
+
+        while (xp / getXpToNextLevel() > 0) {
+            xp -= getXpToNextLevel();
+            level++;
+            skillPoints += 5;
+        }
+
+        invalidateHud();
+    }
+
+    /**
+     * @brief Spend a skill point if there is one.
+     * @return true if a point was spent.
+     */
+    public boolean useSkillPoint() {
+        if (skillPoints <= 0) {
+            return false;
+        }
+
+        skillPoints--;
+        invalidateHud();
+        return true;
+    }
+
+    /**
+     * @brief Notify that something shown by the HUD changed.
+     * 
+     * It is called by the player stats, and must be called after changing level,
+     * xp or skillPoints directly.
+     */
+    public void invalidateHud() {
+        this.hudRevision = lastHudRevision.incrementAndGet();
+    }
+
+    /**
+     * @brief Get the HUD revision.
+     * 
+     * It changes each time the health, stats, level, experience or skill points
+     * change, so the HUD only needs to be drawn again when it differs.
+     * 
+     * @return The revision.
+     */
+    public int getHudRevision() {
+        return this.hudRevision;
     }
 
     /**
@@ -57,10 +178,10 @@ public class Player extends Entity {
      */
     public Vector2D getOffset() {
         if (isAttacking) {
-            return new Vector2D(isFacingLeft ? 16 : -16, 0);
+            return isFacingLeft ? ATTACK_LEFT_OFFSET : ATTACK_RIGHT_OFFSET;
         }
 
-        return new Vector2D();
+        return NO_OFFSET;
     }
 
 }
@@ -25,6 +25,8 @@ public class Range {
     private int min;
     /** @brief The current value possible (included) */
     private int current;
+    /** @brief Called when the current value changes, can be null. */
+    private Runnable onChange;
 
 
     /**
@@ -86,6 +88,8 @@ public class Range {
      * @param value The new value.
      */
     public void set(int value) {
+        int previous = this.current;
+
         if (value < min) {
             this.current = min;
         } else if (value > max) {
@@ -93,6 +97,32 @@ public class Range {
         } else {
             this.current = value;
         }
+
+        if (this.current != previous && this.onChange != null) {
+            this.onChange.run();
+        }
+    }
+
+    /**
+     * @brief Resets the range in place to the form \f$[0, M]\f$, current at max.
+     * 
+     * Works like creating a new Range, but keeps the function called on change
+     * without calling it.
+     * 
+     * @param max The upper bound of the range.
+     */
+    public void reset(int max) {
+        this.min = 0;
+        this.max = max;
+        this.current = max;
+    }
+
+    /**
+     * @brief Sets the function called when the current value changes.
+     * @param onChange The function to call, or null.
+     */
+    public void setOnChange(Runnable onChange) {
+        this.onChange = onChange;
     }
 
     /**
@@ -109,6 +109,17 @@ public class Vector2D {
         return Math.sqrt(dot(this, this));
     }
 
+    /**
+     * @brief Computes the squared 2-norm of the vector.
+     * 
+     * Compare it to squared lengths to avoid computing a square root.
+     * 
+     * @return \f$ \|\mathbf{v}\|_2^2 = x^2 + y^2 \f$.
+     */
+    public double normSq() {
+        return this.x * this.x + this.y * this.y;
+    }
+
     /**
      * @brief Check if vector is Null vector.
      * @return true if \f$ \mathbf{v} = \mathbf{0} \f$.
@@ -177,6 +188,133 @@ public class Vector2D {
         return new Vector2D(x, y);
     }
 
+    /**
+     * @brief Set both coordinates of vector.
+     * 
+     * \f[
+     *      \mathbf{v} := \left[\begin{array}{c} x \\ y \end{array}\right]
+     * \f]
+     * 
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @return This vector, to chain operations.
+     */
+    public Vector2D setTo(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * @brief Copy coordinates of given vector.
+     * 
+     * \f[
+     *      \mathbf{v} := \mathbf{u}
+     * \f]
+     * 
+     * @param other The vector to copy.
+     * @return This vector, to chain operations.
+     */
+    public Vector2D setTo(Vector2D other) {
+        return setTo(other.x, other.y);
+    }
+
+    /**
+     * @brief Add given coordinates to vector, without creating a new one.
+     * 
+     * \f[
+     *      \mathbf{v} := \mathbf{v} + \left[\begin{array}{c} x \\ y \end{array}\right]
+     * \f]
+     * 
+     * @param x The x coordinate to add.
+     * @param y The y coordinate to add.
+     * @return This vector, to chain operations.
+     */
+    public Vector2D addLocal(double x, double y) {
+        this.x += x;
+        this.y += y;
+        return this;
+    }
+
+    /**
+     * @brief Add given vector to vector, without creating a new one.
+     * 
+     * \f[
+     *      \mathbf{v} := \mathbf{v} + \mathbf{u}
+     * \f]
+     * 
+     * @param other The vector to add.
+     * @return This vector, to chain operations.
+     */
+    public Vector2D addLocal(Vector2D other) {
+        return addLocal(other.x, other.y);
+    }
+
+    /**
+     * @brief Subtract given coordinates from vector, without creating a new one.
+     * 
+     * \f[
+     *      \mathbf{v} := \mathbf{v} - \left[\begin{array}{c} x \\ y \end{array}\right]
+     * \f]
+     * 
+     * @param x The x coordinate to subtract.
+     * @param y The y coordinate to subtract.
+     * @return This vector, to chain operations.
+     */
+    public Vector2D subLocal(double x, double y) {
+        this.x -= x;
+        this.y -= y;
+        return this;
+    }
+
+    /**
+     * @brief Subtract given vector from vector, without creating a new one.
+     * 
+     * \f[
+     *      \mathbf{v} := \mathbf{v} - \mathbf{u}
+     * \f]
+     * 
+     * @param other The vector to subtract.
+     * @return This vector, to chain operations.
+     */
+    public Vector2D subLocal(Vector2D other) {
+        return subLocal(other.x, other.y);
+    }
+
+    /**
+     * @brief Scale vector by a real factor, without creating a new one.
+     * 
+     * \f[
+     *      \mathbf{v} := \lambda \mathbf{v}
+     * \f]
+     * 
+     * @param factor The number we use to apply multiplication.
+     * @return This vector, to chain operations.
+     */
+    public Vector2D scaleLocal(double factor) {
+        this.x *= factor;
+        this.y *= factor;
+        return this;
+    }
+
+    /**
+     * @brief Computes the squared distance to another vector.
+     * 
+     * Compare it to squared distances to avoid computing a square root.
+     * 
+     * \f[
+     *      \|\mathbf{v} - \mathbf{u}\|_2^2 = (\mathbf{v}_x - \mathbf{u}_x)^2 + (\mathbf{v}_y - \mathbf{u}_y)^2
+     * \f]
+     * 
+     * @param other The other vector.
+     * @return The squared distance.
+     */
+    public double distanceSq(Vector2D other) {
+        double dx = this.x - other.x;
+        double dy = this.y - other.y;
+        return dx * dx + dy * dy;
+    }
+
     /**
      * @brief Override toString in order to print Vector2D.
      * @return A string in the form of `"x;y"`.
@@ -0,0 +1,153 @@
+/**
+ * @brief This file contains the public class ActiveRenderer.
+ * 
+ * @file ActiveRenderer.java
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * Part of the `graphics` package. It contains a class that draws frames from its own thread.
+ */
+
+package graphics;
+
+import java.awt.Graphics;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+/**
+ * @class ActiveRenderer
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * @brief This class draws the game frames from a dedicated thread.
+ * 
+ * Instead of asking Swing to repaint and waiting for the EDT, frames are drawn into
+ * a BufferStrategy and shown at a fixed frame rate. It is enabled with the `--active`
+ * option, otherwise the game is drawn by graphics.Canvas.paintComponent.
+ * 
+ * The renderer is an AWT canvas laid over the graphics.Canvas it draws. It never
+ * takes the focus, so key bindings of the graphics.Canvas keep working.
+ * 
+ * Static screens are only drawn again when a new world snapshot is published, or
+ * every graphics.Canvas.IDLE_REFRESH milliseconds for the clock.
+ * 
+ * @see java.awt.image.BufferStrategy
+ */
+public class ActiveRenderer extends java.awt.Canvas implements Runnable {
+    /** @brief The default number of frames per second. */
+    public static final int DEFAULT_FRAME_RATE = 60;
+    /** @brief The number of buffers, 3 for triple buffering. */
+    public static final int BUFFERS = 3;
+
+    /** @brief The game canvas that draws the frames. */
+    private Canvas game;
+    /** @brief The duration of a frame, in nanoseconds. */
+    private long period;
+    /** @brief The render thread. */
+    private Thread thread;
+    /** @brief Should the render thread keep running ? */
+    private volatile boolean isRunning;
+
+    /**
+     * @brief Creates a new renderer for the given game canvas.
+     * @param game The game canvas.
+     * @param frameRate The number of frames per second.
+     */
+    public ActiveRenderer(Canvas game, int frameRate) {
+        this.game = game;
+        this.period = 1_000_000_000L / Math.max(1, frameRate);
+
+        setIgnoreRepaint(true);
+        setFocusable(false);
+        setBackground(game.getBackground());
+    }
+
+    /**
+     * @brief Create the buffers and start the render thread.
+     * 
+     * @warning The renderer must be displayable, call it once the window is packed.
+     */
+    public void start() {
+        if (this.thread != null) {
+            return;
+        }
+
+        createBufferStrategy(BUFFERS);
+
+        this.isRunning = true;
+        this.thread = new Thread(this, "render");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @brief Stop the render thread.
+     */
+    public void stop() {
+        this.isRunning = false;
+        this.thread = null;
+    }
+
+    @Override
+    public void run() {
+        long next = System.nanoTime();
+        long lastPresent = 0;
+        WorldSnapshot lastWorld = null;
+
+        while (this.isRunning) {
+            // Static screens are only drawn again when the world changes, or now and then for the clock
+            WorldSnapshot world = this.game.getWorld();
+            long now = System.nanoTime();
+
+            if (world != lastWorld || !world.isStatic() || now - lastPresent >= Canvas.IDLE_REFRESH * 1_000_000) {
+                present();
+                lastWorld = world;
+                lastPresent = now;
+            }
+
+            // Wait for next frame, or start again now if we are late
+            next += this.period;
+            long wait = next - System.nanoTime();
+
+            if (wait > 0) {
+                try {
+                    Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+                } catch (InterruptedException e) {
+                    return;
+                }
+            } else {
+                next = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * @brief Draw a frame into the back buffer and show it.
+     */
+    private void present() {
+        BufferStrategy strategy = getBufferStrategy();
+
+        if (strategy == null) {
+            return;
+        }
+
+        // Volatile buffers can be lost at any time, draw again until it is shown
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+
+                try {
+                    g.setColor(getBackground());
+                    g.fillRect(0, 0, getWidth(), getHeight());
+                    this.game.drawFrame(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
@@ -11,13 +11,9 @@
 
 package graphics;
 
-import java.io.File;
 import java.io.IOException;
 import java.awt.image.BufferedImage;
 
-import javax.imageio.ImageIO;
-import javax.swing.Timer;
-
 import geometry.Vector2D;
 
 
@@ -30,6 +26,11 @@ import geometry.Vector2D;
  * 
  * It can be called inside a `try catch` block or using the helper function @ref Animation.load but it won't raise an exception.
  * 
+ * Frames are shared by all animations with the same name and folder, see @ref graphics.Assets.getFrames.
+ * 
+ * No timer is used : the current frame is computed from the time elapsed on the
+ * @ref graphics.GameClock since the animation started playing.
+ * 
  * @warning The frames must be in **PNG** format and be named using `framesName<X>.png` with X starting at 1.
  */
 public class Animation {
@@ -38,18 +39,20 @@ public class Animation {
      */
     public static final String RESOURCES_FOLDER = "resources/";
     
-    /** @brief An array containing the frames. */
-    private BufferedImage[] frames;
-    /** @brief Timer used for the loop. */
-    private Timer frameTimer;
-    /** @brief Timer used for the playOnce method. */
-    private Timer frameOnceTimer;
+    /** @brief The shared frames. */
+    private FrameSet frames;
     /** @brief The total number of frames. */
     private int frameCounter;
-    /** @brief The index of the current frame. */
-    private int frameIndex;
-    /** @brief A boolean describing if the animation is playing. */
+    /** @brief The duration of a frame, in milliseconds. */
+    private long frameDuration;
+    /** @brief A boolean describing if the animation was started with playOnce. */
+    private boolean isOnce;
+    /** @brief A boolean describing if the animation is playing (or was until its end for playOnce). */
     private boolean isPlaying;
+    /** @brief The clock time at which the first frame was shown, valid while playing. */
+    private long startTime;
+    /** @brief The time elapsed in the animation when it was stopped, in milliseconds. */
+    private long stoppedElapsed;
 
     /**
      * @brief Helper function to load without returning an error.
@@ -85,85 +88,113 @@ public class Animation {
      * @throws IOException In case frames couldn't be found
      */
     public Animation(String framesName, String baseURL, int frameRate) throws IOException {
-        // Count all frames with given name
-        File[] all_files = new File(baseURL).listFiles();
-        this.frameCounter = 0;
+        // Get shared frames, loaded from disk the first time only
+        this.frames = Assets.getFrames(baseURL, framesName);
+        this.frameCounter = this.frames.size();
         this.isPlaying = false;
 
-        for (File file : all_files) {
-            if (file.getName().startsWith(framesName)) {
-                this.frameCounter++;
-            }
-        }
-
         // Throw error if we couldn't find any frame
         if (this.frameCounter == 0) {
             throw new IOException("Couldn't find frames in given path : " + baseURL);
         }
 
-        // Read all frames
-        this.frames = new BufferedImage[this.frameCounter];
-        for (int i = 1; i <= this.frameCounter; i++) {
-            this.frames[i - 1] = ImageIO.read(new File(baseURL + framesName + i + ".png"));
-        }
-
-        // Create timer for the animation
-        this.frameIndex = 0;
-
-        this.frameTimer = new Timer(Math.round(1000 / frameRate), event -> {
-            frameIndex = (frameIndex + 1) % frameCounter;
-        });
-
-        this.frameOnceTimer = new Timer(Math.round(1000 / frameRate), event -> {
-            frameIndex++;
-            if (frameIndex == frameCounter) {
-                frameIndex = 0;
-                frameOnceTimer.stop();
-                isPlaying = false;
-            }
-        });
+        this.frameDuration = Math.max(1, Math.round(1000 / frameRate));
+        this.stoppedElapsed = 0;
     }
 
     /**
-     * @brief Starts animation timer.
+     * @brief Starts the animation.
      * 
      * When this method is called, the animation will be looped endlessly.
      * 
      * @note This method doesn't reset the frame counter.
      */
     public void play() {
-        this.frameTimer.start();
+        if (isPlaying()) {
+            stoppedElapsed = getElapsed();
+        }
+
+        this.isOnce = false;
+        this.startTime = GameClock.millis() - stoppedElapsed;
         this.isPlaying = true;
     }
 
     /**
-     * @brief Start animation timer.
+     * @brief Starts the animation once.
      * 
      * When this method is called, the frame counter is reset and the animation is played once.
      */
     public void playOnce() {
-        this.frameIndex = 0;
-        this.frameOnceTimer.start();
+        this.isOnce = true;
+        this.startTime = GameClock.millis();
         this.isPlaying = true;
     }
 
     /**
-     * @brief Stops animation timer.
+     * @brief Stops the animation.
      * 
-     * When this method is called, the Animation object will stay in memory, but the timer will be paused.
+     * When this method is called, the Animation object will stay in memory, but the
+     * frame won't change until it is resumed.
      */
     public void stop() {
-        this.frameTimer.stop();
-        this.frameOnceTimer.stop();
+        this.stoppedElapsed = isPlaying() ? getElapsed() : isFinished() ? 0 : stoppedElapsed;
         this.isPlaying = false;
     }
 
+    /**
+     * @brief Resumes the animation where it was stopped.
+     * 
+     * An animation started with playOnce is played once again if it already ended.
+     */
     public void resume() {
-        this.frameTimer.start();
-        this.frameOnceTimer.start();
+        if (isPlaying()) {
+            return;
+        }
+
+        this.startTime = GameClock.millis() - (isFinished() ? 0 : stoppedElapsed);
         this.isPlaying = true;
     }
 
+    /**
+     * @brief Stops the animation and rewinds it to its first frame.
+     * 
+     * The animation is left as if it was just loaded.
+     */
+    public void reset() {
+        this.isOnce = false;
+        this.isPlaying = false;
+        this.startTime = 0;
+        this.stoppedElapsed = 0;
+    }
+
+    /**
+     * @brief Get the time elapsed in the animation.
+     * @return The elapsed time, in milliseconds.
+     */
+    private long getElapsed() {
+        return this.isPlaying ? GameClock.millis() - this.startTime : this.stoppedElapsed;
+    }
+
+    /**
+     * @brief Check if an animation started with playOnce went through all its frames.
+     * @return true if the animation ended.
+     */
+    private boolean isFinished() {
+        return this.isOnce && this.isPlaying && GameClock.millis() - this.startTime >= this.frameCounter * this.frameDuration;
+    }
+
+    /**
+     * @brief Get the index of the current frame.
+     * @return The frame index.
+     */
+    private int getFrameIndex() {
+        if (isFinished()) {
+            return 0;
+        }
+
+        return (int) ((getElapsed() / this.frameDuration) % this.frameCounter);
+    }
+
     /**
      * @brief Get the current frame to display.
      * 
@@ -176,7 +207,7 @@ public class Animation {
      * @see java.awt.Graphics
      */
     public BufferedImage getCurrentFrame() {
-        return this.frames[this.frameIndex];
+        return this.frames.get(getFrameIndex());
     }
 
     /**
@@ -191,7 +222,8 @@ public class Animation {
      * @see geometry.Vector2D
      */
     public Vector2D getSize() {
-        return new Vector2D(this.frames[this.frameIndex].getWidth(), this.frames[this.frameIndex].getHeight());
+        BufferedImage frame = getCurrentFrame();
+        return new Vector2D(frame.getWidth(), frame.getHeight());
     }
 
     /**
@@ -203,6 +235,6 @@ public class Animation {
      * @return `true` if the animation is playing, `false` otherwise.
      */
     public boolean isPlaying() {
-        return this.isPlaying;
+        return this.isPlaying && !isFinished();
     }
 }
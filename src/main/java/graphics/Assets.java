@@ -0,0 +1,277 @@
+/**
+ * @brief This file contains the public class Assets.
+ * 
+ * @file Assets.java
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * Part of the `graphics` package. It contains a registry that loads every asset only once.
+ */
+
+package graphics;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import map.Images;
+import map.Map;
+
+/**
+ * @class Assets
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * @brief This class is a registry that loads every asset only once.
+ * 
+ * Assets are keyed by their path and the same instance is handed to every caller,
+ * so the Canvas, the Camera and the Collision class all share one Map, and all
+ * entities of a kind share the same animation frames.
+ * 
+ * @note Returned assets must be treated as read-only, they are shared by all the game.
+ * @note The registry can be used from any thread.
+ */
+public class Assets {
+    /** @brief Path to the main map directory. */
+    public static final String MAIN_MAP = "resources/map/";
+    /** @brief Path to the logo shown on the title screen. */
+    public static final String LOGO = "resources/logo.png";
+
+    /** @brief The loaded maps, keyed by directory. */
+    private static final ConcurrentHashMap<String, Map> maps = new ConcurrentHashMap<>();
+    /** @brief The loaded animation frames, keyed by directory and frames name. */
+    private static final ConcurrentHashMap<String, FrameSet> frameSets = new ConcurrentHashMap<>();
+    /** @brief The loaded images, keyed by path. */
+    private static final ConcurrentHashMap<String, BufferedImage> images = new ConcurrentHashMap<>();
+
+    /** @brief The image returned when one couldn't be read, an empty pixel. */
+    public static final BufferedImage MISSING = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+
+    /** @brief The thread drawing a frame, null between frames. */
+    private static volatile Thread drawingThread;
+    /** @brief The number of frames to draw before printing the report, 0 if not asked. */
+    private static final AtomicInteger framesBeforeReport = new AtomicInteger();
+
+    /** @brief The class only has static members. */
+    private Assets() {}
+
+    /**
+     * @brief Get the map stored in the given directory.
+     * 
+     * The map is loaded on first call only. If another thread is already loading it,
+     * the call waits for that load instead of reading the files a second time.
+     * 
+     * @param mapDir The path to the map directory.
+     * @return The shared Map object.
+     * @see map.Map
+     */
+    public static Map getMap(String mapDir) {
+        return maps.computeIfAbsent(mapDir, key -> {
+            warnIfDrawing(key);
+            return new Map(key);
+        });
+    }
+
+    /**
+     * @brief Get the frames of an animation.
+     * 
+     * Frames are read from disk on first call only, so entities created afterwards
+     * don't do any I/O. A missing animation is remembered too.
+     * 
+     * @param baseURL The base URL to the folder with frames.
+     * @param framesName The frame base name. Frames should be named "framesNameX.png" with X starting at 1.
+     * @return The shared FrameSet, empty if no frame could be loaded.
+     * @see graphics.Animation
+     */
+    public static FrameSet getFrames(String baseURL, String framesName) {
+        return frameSets.computeIfAbsent(baseURL + framesName, key -> {
+            warnIfDrawing(key);
+
+            try {
+                return loadFrames(baseURL, framesName);
+            } catch (IOException e) {
+                return FrameSet.EMPTY;
+            }
+        });
+    }
+
+    /**
+     * @brief Get an image.
+     * 
+     * The image is read from disk and converted to the screen's format on first
+     * call only, every later call returns the same instance.
+     * 
+     * @param path The path to the image file.
+     * @return The shared image, or @ref MISSING if it couldn't be read.
+     */
+    public static BufferedImage getImage(String path) {
+        return images.computeIfAbsent(path, key -> {
+            warnIfDrawing(key);
+
+            try {
+                return loadImage(key);
+            } catch (IOException e) {
+                System.out.println(e);
+                return MISSING;
+            }
+        });
+    }
+
+    /**
+     * @brief Read an image from disk and convert it to the screen's format.
+     * 
+     * The image is not kept, use @ref getImage unless the caller keeps it itself.
+     * 
+     * @param path The path to the image file.
+     * @return The converted image.
+     * @throws IOException In case the image couldn't be read.
+     */
+    public static BufferedImage loadImage(String path) throws IOException {
+        return Images.load(path);
+    }
+
+    /**
+     * @brief Mark the calling thread as drawing a frame.
+     * 
+     * Assets loaded until @ref endFrame is called are reported, as loading from
+     * disk while drawing makes the frame late.
+     */
+    public static void beginFrame() {
+        drawingThread = Thread.currentThread();
+    }
+
+    /**
+     * @brief Mark the end of the frame started by @ref beginFrame.
+     */
+    public static void endFrame() {
+        drawingThread = null;
+
+        if (framesBeforeReport.get() > 0 && framesBeforeReport.decrementAndGet() == 0) {
+            System.out.println(report());
+        }
+    }
+
+    /**
+     * @brief Print the @ref report once the given number of frames are drawn.
+     * 
+     * The report is printed by the thread drawing frames, once the assets used by
+     * the first frames are loaded and their render caches filled.
+     * 
+     * @param frames The number of frames to draw first.
+     */
+    public static void reportAfter(int frames) {
+        framesBeforeReport.set(Math.max(1, frames));
+    }
+
+    /**
+     * @brief Report an asset loaded by the thread drawing a frame.
+     * @param key The asset key.
+     */
+    private static void warnIfDrawing(String key) {
+        if (Thread.currentThread() == drawingThread) {
+            System.out.printf("[assets] %s loaded while drawing a frame on thread %s%n", key, Thread.currentThread().getName());
+        }
+    }
+
+    /**
+     * @brief Read the frames of an animation from disk.
+     * @param baseURL The base URL to the folder with frames.
+     * @param framesName The frame base name.
+     * @return The loaded FrameSet, empty if there is no frame.
+     * @throws IOException In case frames couldn't be read.
+     */
+    private static FrameSet loadFrames(String baseURL, String framesName) throws IOException {
+        // Count all frames with given name
+        File[] allFiles = new File(baseURL).listFiles();
+        int frameCounter = 0;
+
+        if (allFiles == null) {
+            return FrameSet.EMPTY;
+        }
+
+        for (File file : allFiles) {
+            if (file.getName().startsWith(framesName)) {
+                frameCounter++;
+            }
+        }
+
+        // Read all frames
+        BufferedImage[] frames = new BufferedImage[frameCounter];
+        for (int i = 1; i <= frameCounter; i++) {
+            frames[i - 1] = loadImage(baseURL + framesName + i + ".png");
+        }
+
+        return new FrameSet(frames);
+    }
+
+    /**
+     * @brief Create an image in the screen's native format.
+     * 
+     * Such images can be cached in video memory by Java2D, which makes drawing them
+     * much faster than drawing what ImageIO decodes.
+     * 
+     * @param width The image width.
+     * @param height The image height.
+     * @param transparency One of Transparency.OPAQUE, BITMASK or TRANSLUCENT.
+     * @return A new blank image.
+     * @see map.Images
+     */
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        return Images.createCompatible(width, height, transparency);
+    }
+
+    /**
+     * @brief Describe every resident asset and the memory it uses.
+     * @return A human readable report, one line per asset.
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder("Resident assets :\n");
+        long total = 0;
+
+        for (var entry : maps.entrySet()) {
+            Map map = entry.getValue();
+            total += map.getLayersBytes() + map.getTilesetsBytes();
+
+            total += map.getRenderCacheBytes();
+
+            report.append(String.format("- map %s : %dx%d tiles, %d layers (%s), %d tiles (%s), render cache (%s)%n",
+                entry.getKey(), map.getWidth(), map.getHeight(), map.getLayerCount(), formatBytes(map.getLayersBytes()),
+                map.getTileCount(), formatBytes(map.getTilesetsBytes()), formatBytes(map.getRenderCacheBytes())));
+        }
+
+        int frameCount = 0;
+        long framesBytes = 0;
+        for (FrameSet frameSet : frameSets.values()) {
+            frameCount += frameSet.size();
+            framesBytes += frameSet.getBytes();
+        }
+        total += framesBytes;
+
+        report.append(String.format("- animations : %d sets, %d frames (%s)%n", frameSets.size(), frameCount, formatBytes(framesBytes)));
+
+        long imagesBytes = 0;
+        for (BufferedImage image : images.values()) {
+            imagesBytes += (long) image.getWidth() * image.getHeight() * 4;
+        }
+        total += imagesBytes;
+
+        report.append(String.format("- images : %d (%s)%n", images.size(), formatBytes(imagesBytes)));
+        report.append("Total : ").append(formatBytes(total));
+        return report.toString();
+    }
+
+    /**
+     * @brief Format a size in bytes for the report.
+     * @param bytes The size in bytes.
+     * @return The size in KiB or MiB.
+     */
+    static String formatBytes(long bytes) {
+        if (bytes >= 1024 * 1024) {
+            return String.format("%.1f MiB", bytes / (1024.0 * 1024.0));
+        }
+
+        return String.format("%.1f KiB", bytes / 1024.0);
+    }
+}
@@ -31,6 +31,8 @@ import map.Map;
  */
 public class Camera {
     private static Font font;
+    /** @brief The derived fonts and rendered texts, only used by the thread drawing frames. */
+    private TextCache textCache;
     /** @brief The instance of the singleton. */
     private static Camera singleton;
     /**
@@ -40,12 +42,27 @@ public class Camera {
     private Entity focused;
     /** @brief The canvas associated to the camera. */
     private Canvas canvas;
+    /** @brief The point to focus on for the current frame, see @ref setFocusPosition. */
+    private Vector2D focusPosition;
+    /** @brief The map the transform was computed for, null if it must be computed again. */
+    private Map transformMap;
+    /** @brief The scale the transform was computed for. */
+    private double transformScale;
+    /** @brief The value to add to an absolute x coordinate to get its screen coordinate, focus clamped to the map. */
+    private double clampedOriginX;
+    /** @brief The value to add to an absolute y coordinate to get its screen coordinate, focus clamped to the map. */
+    private double clampedOriginY;
+    /** @brief The scale given to @ref beginFrame, used by rectangles and texts. */
+    private double frameScale = 1;
+    /** @brief The offset used when none is given. Must not be modified. */
+    private static final Vector2D NO_OFFSET = new Vector2D();
 
     private Camera(Canvas canvas) {
         try {
             Camera.font = Font.createFont(Font.TRUETYPE_FONT, new File("resources/PrStart.ttf"));
         } catch (Exception e) {}
 
+        this.textCache = new TextCache(Camera.font);
         this.canvas = canvas;
     }
 
@@ -91,6 +108,7 @@ public class Camera {
      */
     public void setFocusOn(Entity entity) {
         singleton.focused = entity;
+        singleton.transformMap = null;
     }
 
     /**
@@ -101,6 +119,90 @@ public class Camera {
         return singleton.focused;
     }
 
+    /**
+     * @brief Set the point to focus on for the next frames.
+     * 
+     *        The renderer sets it from the latest world snapshot, so drawing never
+     *        reads the focused entity while the simulation moves it.
+     * 
+     * @param x The x position in absolute coordinates.
+     * @param y The y position in absolute coordinates.
+     * @see graphics.WorldSnapshot
+     */
+    public void setFocusPosition(double x, double y) {
+        if (singleton.focusPosition == null) {
+            singleton.focusPosition = new Vector2D(x, y);
+        } else {
+            singleton.focusPosition.setTo(x, y);
+        }
+
+        singleton.transformMap = null;
+    }
+
+    /**
+     * @brief Compute the transform used by clamped methods for the frame.
+     * 
+     *        The clamped focus only depends on the focus, the map and the canvas
+     *        size, so it is computed once here instead of for every tile, sprite
+     *        and text drawn. It must be called after @ref setFocusPosition.
+     * 
+     * @param map   The Map object to use for clamping.
+     * @param scale Scale factor the map is drawn with, also used by clamped
+     *              rectangles and texts.
+     */
+    public void beginFrame(Map map, double scale) {
+        singleton.frameScale = scale;
+        computeTransform(map, scale);
+    }
+
+    /**
+     * @brief Make sure the transform matches the given map and scale.
+     * @param map   The Map object to use for clamping.
+     * @param scale Scale factor the map is drawn with.
+     */
+    private void useTransform(Map map, double scale) {
+        if (singleton.transformMap != map || singleton.transformScale != scale) {
+            computeTransform(map, scale);
+        }
+    }
+
+    /**
+     * @brief Compute the screen origin of the map, with the focus clamped to the map.
+     * @param map   The Map object to use for clamping.
+     * @param scale Scale factor the map is drawn with.
+     */
+    private void computeTransform(Map map, double scale) {
+        double mapHeight = map.getHeight() * map.getTileSize() * scale;
+        double mapWidth = map.getWidth() * map.getTileSize() * scale;
+        int canvasRadiusX = singleton.canvas.getWidth() / 2;
+        int canvasRadiusY = singleton.canvas.getHeight() / 2;
+        Vector2D focus = getFocusPosition();
+
+        double clampedFocusX = Math.min(Math.max(focus.x, canvasRadiusX), mapWidth - canvasRadiusX - map.getTileSize());
+        double clampedFocusY = Math.min(Math.max(focus.y, canvasRadiusY), mapHeight - canvasRadiusY - map.getTileSize());
+
+        singleton.clampedOriginX = canvasRadiusX - clampedFocusX;
+        singleton.clampedOriginY = canvasRadiusY - clampedFocusY;
+        singleton.transformMap = map;
+        singleton.transformScale = scale;
+    }
+
+    /**
+     * @brief Get the position of the focused point.
+     * @return The focus position set for the frame, else the focused entity position, or (0, 0) if nothing is focused.
+     */
+    public Vector2D getFocusPosition() {
+        if (singleton.focusPosition != null) {
+            return singleton.focusPosition;
+        }
+
+        if (singleton.focused == null) {
+            return new Vector2D();
+        }
+
+        return singleton.focused.getPosition();
+    }
+
     /**
      * @brief Draw image on screen based on focused point.
      * 
@@ -112,7 +214,7 @@ public class Camera {
      * @param y     The y position in absolute coordinates.
      */
     public void drawImage(Graphics graph, BufferedImage image, double x, double y) {
-        drawImage(graph, image, x, y, 1, new Vector2D());
+        drawImage(graph, image, x, y, 1, NO_OFFSET);
     }
 
     /**
@@ -127,7 +229,7 @@ public class Camera {
      * @param scale Scale factor for the image width and height.
      */
     public void drawImage(Graphics graph, BufferedImage image, double x, double y, double scale) {
-        drawImage(graph, image, x, y, scale, new Vector2D());
+        drawImage(graph, image, x, y, scale, NO_OFFSET);
     }
 
     /**
@@ -154,14 +256,11 @@ public class Camera {
         }
 
         // Get all components
-        Vector2D relativePosition = getRelativePosition(singleton.focused.getPosition().x,
-                singleton.focused.getPosition().y, x, y);
-        Vector2D imageCenter = new Vector2D(-width / 2, -height / 2);
-        offset = Vector2D.scale(offset, -scale);
+        Vector2D focus = getFocusPosition();
+        int screenX = (int) (singleton.canvas.getWidth() / 2 + x - focus.x - width / 2 - offset.x * scale);
+        int screenY = (int) (singleton.canvas.getHeight() / 2 + y - focus.y - height / 2 - offset.y * scale);
 
-        Vector2D position = Vector2D.add(relativePosition, imageCenter, offset);
-
-        graph.drawImage(image, (int) position.x, (int) position.y, width, height, singleton.canvas);
+        graph.drawImage(image, screenX, screenY, width, height, singleton.canvas);
     }
 
     /**
@@ -177,7 +276,7 @@ public class Camera {
      * @param y     The y position in absolute coordinates.
      */
     public void drawImageClamped(Graphics graph, Map map, BufferedImage image, double x, double y) {
-        drawImageClamped(graph, map, image, x, y, 1, new Vector2D());
+        drawImageClamped(graph, map, image, x, y, 1, NO_OFFSET);
     }
 
     /**
@@ -194,7 +293,7 @@ public class Camera {
      * @param scale Scale factor on width and height.
      */
     public void drawImageClamped(Graphics graph, Map map, BufferedImage image, double x, double y, double scale) {
-        drawImageClamped(graph, map, image, x, y, scale, new Vector2D());
+        drawImageClamped(graph, map, image, x, y, scale, NO_OFFSET);
     }
 
     /**
@@ -221,37 +320,44 @@ public class Camera {
             return;
         }
 
-        // Compute clamped focus
-        double mapHeight = map.getHeight() * map.getTileSize() * scale;
-        double mapWidth = map.getWidth() * map.getTileSize() * scale;
-        Vector2D canvasRadii = singleton.canvas.getCenter();
-        double focusX = singleton.focused.getPosition().x;
-        double focusY = singleton.focused.getPosition().y;
+        useTransform(map, scale);
 
-        double clampedFocusX = Math.min(Math.max(focusX, canvasRadii.x), mapWidth - canvasRadii.x - map.getTileSize());
-        double clampedFocusY = Math.min(Math.max(focusY, canvasRadii.y), mapHeight - canvasRadii.y - map.getTileSize());
+        int screenX = (int) (x + singleton.clampedOriginX - width / 2 - offset.x * scale);
+        int screenY = (int) (y + singleton.clampedOriginY - height / 2 - offset.y * scale);
 
-        // Get all components
-        Vector2D relativePosition = getRelativePosition(clampedFocusX, clampedFocusY, x, y);
-        Vector2D imageCenter = new Vector2D(-width / 2, -height / 2);
-        offset = Vector2D.scale(offset, -scale);
-
-        Vector2D position = Vector2D.add(relativePosition, imageCenter, offset);
-
-        graph.drawImage(image, (int) position.x, (int) position.y, width, height, singleton.canvas); 
+        graph.drawImage(image, screenX, screenY, width, height, singleton.canvas);
     }
 
     /**
-     * @brief Get relative position of point based on focus coordinates.
-     * @param focusX The focused entity x position.
-     * @param focusY The focused entity y position.
-     * @param x      The image x position.
-     * @param y      The image y position.
-     * @return The Vector2D corresponding to the shift that has to be made.
+     * @brief Draw an already scaled image on screen based on focused point.
+     * 
+     *        The image is drawn at its own size, the scale is only used to clamp
+     *        the focus to the map like the other clamped methods.
+     * 
+     * @param graph The Graphics object.
+     * @param map   The Map object.
+     * @param image The Image we want to draw, already scaled.
+     * @param x     The x position in absolute coordinates.
+     * @param y     The y position in absolute coordinates.
+     * @param scale Scale factor the map is drawn with.
      */
-    private Vector2D getRelativePosition(double focusX, double focusY, double x, double y) {
-        Vector2D relativeOffset = new Vector2D(x - focusX, y - focusY);
-        return Vector2D.add(singleton.canvas.getCenter(), relativeOffset);
+    public void drawPrescaledImageClamped(Graphics graph, Map map, BufferedImage image, double x, double y, double scale) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        // If nothing is focused, we simply draw image on given position
+        if (singleton.focused == null) {
+            graph.drawImage(image, (int) x, (int) y, singleton.canvas);
+            return;
+        }
+
+        useTransform(map, scale);
+
+        // Chunks often start off screen, floor keeps them on the same pixel grid as positive positions
+        int screenX = (int) Math.floor(x + singleton.clampedOriginX - width / 2);
+        int screenY = (int) Math.floor(y + singleton.clampedOriginY - height / 2);
+
+        graph.drawImage(image, screenX, screenY, singleton.canvas);
     }
 
     /**
@@ -273,13 +379,11 @@ public class Camera {
         }
 
         // Get all components
-        Vector2D relativePosition = getRelativePosition(singleton.focused.getPosition().x,
-                singleton.focused.getPosition().y, x, y);
-        Vector2D rectangleCenter = new Vector2D(-w / 2, -h / 2);
-
-        Vector2D position = Vector2D.add(relativePosition, rectangleCenter);
+        Vector2D focus = getFocusPosition();
+        int screenX = (int) (singleton.canvas.getWidth() / 2 + x - focus.x - w / 2);
+        int screenY = (int) (singleton.canvas.getHeight() / 2 + y - focus.y - h / 2);
 
-        graph.drawRect((int) position.x, (int) position.y, w, h);
+        graph.drawRect(screenX, screenY, w, h);
     }
 
     /**
@@ -301,17 +405,18 @@ public class Camera {
         }
 
         // Get all components
-        Vector2D relativePosition = getRelativePosition(singleton.focused.getPosition().x,
-                singleton.focused.getPosition().y, x, y);
-        Vector2D rectangleCenter = new Vector2D(-w / 2, -h / 2);
-
-        Vector2D position = Vector2D.add(relativePosition, rectangleCenter);
+        Vector2D focus = getFocusPosition();
+        int screenX = (int) (singleton.canvas.getWidth() / 2 + x - focus.x - w / 2);
+        int screenY = (int) (singleton.canvas.getHeight() / 2 + y - focus.y - h / 2);
 
-        graph.fillRect((int) position.x, (int) position.y, w, h);
+        graph.fillRect(screenX, screenY, w, h);
     }
 
     /**
      * @brief Draw rectangle based on focused entity and centered on position.
+     * 
+     *        The map is clamped with the scale given to @ref beginFrame.
+     * 
      * @param graph The Graphics object.
      * @param map   The Map object to use for clamping.
      * @param x     The rectangle's center's x position in absolute coordinates.
@@ -320,7 +425,7 @@ public class Camera {
      * @param h     The rectangle's height.
      * @param color The rectangle's color.
      */
-    public void drawRectClamped(Graphics graph, Map map,double x, double y, int w, int h, Color color) {
+    public void drawRectClamped(Graphics graph, Map map, double x, double y, int w, int h, Color color) {
         graph.setColor(color);
 
         // If nothing is focused, we draw on given position
@@ -329,27 +434,16 @@ public class Camera {
             return;
         }
 
-        // Compute clamped focus
-        double mapHeight = map.getHeight() * map.getTileSize() * 2;
-        double mapWidth = map.getWidth() * map.getTileSize() * 2;
-        Vector2D canvasRadii = singleton.canvas.getCenter();
-        double focusX = singleton.focused.getPosition().x;
-        double focusY = singleton.focused.getPosition().y;
-
-        double clampedFocusX = Math.min(Math.max(focusX, canvasRadii.x), mapWidth - canvasRadii.x - map.getTileSize());
-        double clampedFocusY = Math.min(Math.max(focusY, canvasRadii.y), mapHeight - canvasRadii.y - map.getTileSize());
-
-        // Get all components
-        Vector2D relativePosition = getRelativePosition(clampedFocusX, clampedFocusY, x, y);
-        Vector2D rectangleCenter = new Vector2D(-w / 2, -h / 2);
-
-        Vector2D position = Vector2D.add(relativePosition, rectangleCenter);
+        useTransform(map, singleton.frameScale);
 
-        graph.drawRect((int) position.x, (int) position.y, w, h);
+        graph.drawRect((int) (x + singleton.clampedOriginX - w / 2), (int) (y + singleton.clampedOriginY - h / 2), w, h);
     }
 
     /**
      * @brief Fill rectangle based on focused entity and centered on position.
+     * 
+     *        The map is clamped with the scale given to @ref beginFrame.
+     * 
      * @param graph The Graphics object. 
      * @param map   The Map object to use for clamping.
      * @param x     The rectangle's center's x position in absolute coordinates.
@@ -358,7 +452,7 @@ public class Camera {
      * @param h     The rectangle's height.
      * @param color The rectangle's color.
      */
-    public void fillRectClamped(Graphics graph, Map map,double x, double y, int w, int h, Color color) {
+    public void fillRectClamped(Graphics graph, Map map, double x, double y, int w, int h, Color color) {
         graph.setColor(color);
 
         // If nothing is focused, we draw on given position
@@ -367,55 +461,153 @@ public class Camera {
             return;
         }
 
-        // Compute clamped focus
-        double mapHeight = map.getHeight() * map.getTileSize() * 2;
-        double mapWidth = map.getWidth() * map.getTileSize() * 2;
-        Vector2D canvasRadii = singleton.canvas.getCenter();
-        double focusX = singleton.focused.getPosition().x;
-        double focusY = singleton.focused.getPosition().y;
+        useTransform(map, singleton.frameScale);
 
-        double clampedFocusX = Math.min(Math.max(focusX, canvasRadii.x), mapWidth - canvasRadii.x - map.getTileSize());
-        double clampedFocusY = Math.min(Math.max(focusY, canvasRadii.y), mapHeight - canvasRadii.y - map.getTileSize());
+        graph.fillRect((int) (x + singleton.clampedOriginX - w / 2), (int) (y + singleton.clampedOriginY - h / 2), w, h);
+    }
 
-        // Get all components
-        Vector2D relativePosition = getRelativePosition(clampedFocusX, clampedFocusY, x, y);
-        Vector2D rectangleCenter = new Vector2D(-w / 2, -h / 2);
+    public void drawTextClamped(Graphics graph, Map map, int x, int y, String text, int size, Color color) {
+        graph.setFont(singleton.textCache.getFont(size));
+        graph.setColor(color);
 
-        Vector2D position = Vector2D.add(relativePosition, rectangleCenter);
+        // If nothing is focused, we draw on given position
+        if (singleton.focused == null) {
+            graph.drawString(text, x, y);
+            return;
+        }
+
+        useTransform(map, singleton.frameScale);
 
-        graph.fillRect((int) position.x, (int) position.y, w, h);
+        graph.drawString(text, (int) (x + singleton.clampedOriginX), (int) (y + singleton.clampedOriginY));
     }
 
-    public void drawTextClamped(Graphics graph, Map map, int x, int y, String text, int size, Color color) {
-        graph.setFont(Camera.font.deriveFont((float)size));
+    /**
+     * @brief Draw the first characters of an array on screen, based on focused point, without creating a string.
+     * 
+     *        The map is clamped with the scale given to @ref beginFrame.
+     * 
+     * @param graph  The Graphics object.
+     * @param map    The Map object to use for clamping.
+     * @param x      The text's baseline left x position in absolute coordinates.
+     * @param y      The text's baseline y position in absolute coordinates.
+     * @param text   The characters.
+     * @param length The number of characters to draw.
+     * @param size   The font size.
+     * @param color  The text color.
+     */
+    public void drawTextClamped(Graphics graph, Map map, int x, int y, char[] text, int length, int size, Color color) {
+        graph.setFont(singleton.textCache.getFont(size));
         graph.setColor(color);
 
         // If nothing is focused, we draw on given position
         if (singleton.focused == null) {
-            graph.drawString(text, x, y);
+            graph.drawChars(text, 0, length, x, y);
             return;
         }
 
-        // Compute clamped focus
-        double mapHeight = map.getHeight() * map.getTileSize() * 2;
-        double mapWidth = map.getWidth() * map.getTileSize() * 2;
-        Vector2D canvasRadii = singleton.canvas.getCenter();
-        double focusX = singleton.focused.getPosition().x;
-        double focusY = singleton.focused.getPosition().y;
+        useTransform(map, singleton.frameScale);
 
-        double clampedFocusX = Math.min(Math.max(focusX, canvasRadii.x), mapWidth - canvasRadii.x - map.getTileSize());
-        double clampedFocusY = Math.min(Math.max(focusY, canvasRadii.y), mapHeight - canvasRadii.y - map.getTileSize());
+        graph.drawChars(text, 0, length, (int) (x + singleton.clampedOriginX), (int) (y + singleton.clampedOriginY));
+    }
 
-        // Get all components
-        Vector2D position = getRelativePosition(clampedFocusX, clampedFocusY, x, y);
+    /**
+     * @brief Tell if a rectangle drawn like @ref fillRectClamped would be on screen.
+     * @param map The Map object to use for clamping.
+     * @param x   The rectangle's center's x position in absolute coordinates.
+     * @param y   The rectangle's center's y position in absolute coordinates.
+     * @param w   The rectangle's width.
+     * @param h   The rectangle's height.
+     * @return true if any part of the rectangle is on screen.
+     */
+    public boolean isOnScreenClamped(Map map, double x, double y, double w, double h) {
+        // If nothing is focused, positions are already on screen
+        double originX = 0;
+        double originY = 0;
+
+        if (singleton.focused != null) {
+            useTransform(map, singleton.frameScale);
+            originX = singleton.clampedOriginX;
+            originY = singleton.clampedOriginY;
+        }
+
+        double screenX = x + originX;
+        double screenY = y + originY;
 
-        graph.drawString(text, (int) position.x, (int) position.y);
+        return screenX + w / 2 >= 0 && screenX - w / 2 < singleton.canvas.getWidth()
+                && screenY + h / 2 >= 0 && screenY - h / 2 < singleton.canvas.getHeight();
     }
 
     public void drawTextFixed(Graphics graph, int x, int y, String text, int size, Color color) {
-        graph.setFont(Camera.font.deriveFont((float)size));
+        graph.setFont(singleton.textCache.getFont(size));
         graph.setColor(color);
 
         graph.drawString(text, x, y);
     }
-}
\ No newline at end of file
+
+    /**
+     * @brief Draw the first characters of an array on screen, without creating a string.
+     * @param graph  The Graphics object.
+     * @param x      The text's baseline left x position on screen.
+     * @param y      The text's baseline y position on screen.
+     * @param text   The characters.
+     * @param length The number of characters to draw.
+     * @param size   The font size.
+     * @param color  The text color.
+     */
+    public void drawTextFixed(Graphics graph, int x, int y, char[] text, int length, int size, Color color) {
+        graph.setFont(singleton.textCache.getFont(size));
+        graph.setColor(color);
+
+        graph.drawChars(text, 0, length, x, y);
+    }
+
+    /**
+     * @brief Draw a text that rarely changes on screen, based on focused point.
+     * 
+     *        It is drawn like @ref drawTextClamped, from an image rendered the first
+     *        time the same text is drawn with the same size and color.
+     * 
+     * @param graph The Graphics object.
+     * @param map   The Map object to use for clamping.
+     * @param x     The text's baseline left x position in absolute coordinates.
+     * @param y     The text's baseline y position in absolute coordinates.
+     * @param text  The text.
+     * @param size  The font size.
+     * @param color The text color.
+     * @see graphics.TextCache
+     */
+    public void drawCachedTextClamped(Graphics graph, Map map, int x, int y, String text, int size, Color color) {
+        BufferedImage image = singleton.textCache.getText(text, size, color);
+        int top = y - singleton.textCache.getAscent(size);
+
+        // If nothing is focused, we draw on given position
+        if (singleton.focused == null) {
+            graph.drawImage(image, x, top, singleton.canvas);
+            return;
+        }
+
+        useTransform(map, singleton.frameScale);
+
+        graph.drawImage(image, (int) (x + singleton.clampedOriginX), (int) (top + singleton.clampedOriginY), singleton.canvas);
+    }
+
+    /**
+     * @brief Draw a text that rarely changes on screen.
+     * 
+     *        It is drawn like @ref drawTextFixed, from an image rendered the first
+     *        time the same text is drawn with the same size and color.
+     * 
+     * @param graph The Graphics object.
+     * @param x     The text's baseline left x position on screen.
+     * @param y     The text's baseline y position on screen.
+     * @param text  The text.
+     * @param size  The font size.
+     * @param color The text color.
+     * @see graphics.TextCache
+     */
+    public void drawCachedTextFixed(Graphics graph, int x, int y, String text, int size, Color color) {
+        BufferedImage image = singleton.textCache.getText(text, size, color);
+
+        graph.drawImage(image, x, y - singleton.textCache.getAscent(size), singleton.canvas);
+    }
+}
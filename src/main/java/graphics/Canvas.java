@@ -11,18 +11,18 @@
 
 package graphics;
 
+import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Toolkit;
-import java.io.File;
+import java.awt.event.KeyEvent;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Random;
 import java.util.function.Function;
 
-import javax.imageio.ImageIO;
 import javax.swing.JPanel;
 
 import character.Player;
@@ -30,6 +30,7 @@ import character.Dragon;
 import character.Enemies;
 import character.Entity;
 import character.Monster;
+import character.MonsterPool;
 import geometry.Range;
 import geometry.Vector2D;
 import map.Map;
@@ -55,27 +56,26 @@ public class Canvas extends JPanel {
     private TrueTimer mainTimer;
     /** @brief The camera that follows the player. */
     private Camera camera;
+    /** @brief The renderer used in active rendering mode, null when Swing paints the canvas. */
+    private ActiveRenderer activeRenderer;
+    /** @brief The frame times. */
+    private FrameStats frameStats;
+    /** @brief The latest world state published by the simulation, the only thing drawn. */
+    private volatile WorldSnapshot world;
 
     /** @brief The map object */
     private Map map;
     /** @brief The player */
     private Player player;
-    private int lastHit = 0;
-    private int accel = 0;
-    /** @brief Monster pool */
+    /** @brief The monsters in game, in no particular order as they are swap-removed */
     private ArrayList<Monster> badguys;
-    /** @brief All entities */
-    private ArrayList<Entity> allEntities;
+    /** @brief The removed monsters, spawned again instead of created */
+    private MonsterPool<Monster> monsterPool = new MonsterPool<>(Monster::new);
+    /** @brief The removed dragons, spawned again instead of created */
+    private MonsterPool<Dragon> dragonPool = new MonsterPool<>(Dragon::new);
+    /** @brief All entities sorted by position, for collisions */
+    private SpatialGrid grid;
     private KeyStack stack;
-    private boolean wasReleasedO;
-    private boolean wasReleasedSpace;
-    private boolean wasReleasedI;
-    private boolean wasReleasedEsc;
-    private boolean wasReleasedK;
-    private boolean wasReleasedL;
-    private boolean wasReleasedM;
-    private boolean wasReleasedH;
-    private boolean wasReleasedEnter;
 
     private Instant start;
     private Instant end;
@@ -86,14 +86,42 @@ public class Canvas extends JPanel {
     private boolean hasStarted = false;
     private boolean isPaused = false;
     private boolean showHelp = true;
-    private int[] hasSpawned = new int[Enemies.enemies.length];
-    private int[] isNotThere = new int[Enemies.enemies.length];
-
-    private int[] hasSpawnedDragon = new int[Enemies.dragons.length];
-    private int[] isNotThereDragon = new int[Enemies.dragons.length];
+    /** @brief Should the input latency be shown ? */
+    private boolean showLatency = false;
+    /** @brief The number of ticks run, only used by the simulation thread. */
+    private long tickCount;
+    /** @brief The monster spawn points, only used by the simulation thread. */
+    private SpawnIndex monsterSpawns;
+    /** @brief The dragon spawn points, only used by the simulation thread. */
+    private SpawnIndex dragonSpawns;
+    /** @brief Spawns the monster of a spawn point. */
+    private final SpawnIndex.Listener monsterSpawner = this::spawnMonster;
+    /** @brief Spawns the dragon of a spawn point. */
+    private final SpawnIndex.Listener dragonSpawner = this::spawnDragon;
 
     boolean entitiesCollision = false;
 
+    /** @brief Reused player movement, only used by the simulation thread. */
+    private Vector2D movement = new Vector2D();
+    /** @brief Reused vector from a monster to the player, only used by the simulation thread. */
+    private Vector2D difference = new Vector2D();
+    /** @brief Reused interpolated player position, only used by the rendering thread. */
+    private Vector2D playerDrawPosition = new Vector2D();
+    /** @brief Reused interpolated monster position, only used by the rendering thread. */
+    private Vector2D drawPosition = new Vector2D();
+    /** @brief Reused monster sprite size, only used by the rendering thread. */
+    private Vector2D drawSize = new Vector2D();
+    /** @brief The player HUD, only drawn again when it changes. */
+    private HudLayer hudLayer = new HudLayer();
+
+    /** @brief The input count when the last tick read the keys, only used by the simulation thread. */
+    private long inputCount;
+
+    /** @brief How often static screens showing the clock are drawn, in milliseconds. */
+    static final long IDLE_REFRESH = 100;
+    /** @brief Room kept around a monster sprite for its bars and stats, in pixels. */
+    static final int HUD_MARGIN = 64;
+
     static final double PROBABILITY_OF_ATTACK = 0.8;
     static final double AGGRO_RANGE = 500.0;
     Random random = new Random();
@@ -109,6 +137,15 @@ public class Canvas extends JPanel {
         this(false);
     }
 
+    /**
+     * @brief Calls the main constructor with active rendering turned off.
+     *
+     * @param isFullscreen Is the screen in fullscreen mode ?
+     */
+    public Canvas(boolean isFullscreen) {
+        this(isFullscreen, false);
+    }
+
     /**
      * @brief The main constructor.
      *
@@ -118,33 +155,42 @@ public class Canvas extends JPanel {
      *        you should edit this.
      *
      * @param isFullscreen Is the screen in fullscreen mode ?
+     * @param isActive Should frames be drawn by an ActiveRenderer instead of Swing ?
      * @see javax.swing.JPanel
+     * @see graphics.ActiveRenderer
      */
-    public Canvas(boolean isFullscreen) {
+    public Canvas(boolean isFullscreen, boolean isActive) {
         super(true);
         this.isFullscreen = isFullscreen;
         this.camera = Camera.getCamera(this);
         setBackground(new Color(42, 42, 42, 255));
 
+        // In active mode, the renderer covers the panel which only keeps input bindings
+        if (isActive) {
+            this.activeRenderer = new ActiveRenderer(this, ActiveRenderer.DEFAULT_FRAME_RATE);
+            setLayout(new BorderLayout());
+            add(this.activeRenderer, BorderLayout.CENTER);
+            setIgnoreRepaint(true);
+        }
+
+        this.frameStats = new FrameStats(isActive ? "active render" : "render");
+
+        // Load enemies frames now so spawning them never reads files
+        Entity.preloadAnimations("monster/");
+        Entity.preloadAnimations("dragon/");
+
         this.player = new Player(300, 1250);
-        this.allEntities = new ArrayList<>(); 
         this.badguys = new ArrayList<>();
 
-        for (int i = 0 ; i < hasSpawned.length ; i++) {
-            hasSpawned[i] = 0;
-            isNotThere[i] = 0;
-        }
-
-        this.allEntities.add(player);
+        this.map = Assets.getMap(Assets.MAIN_MAP);
+        // Loaded now so the title screen doesn't read it while drawing
+        Assets.getImage(Assets.LOGO);
+        this.grid = new SpatialGrid(map.getWidth() * map.getTileSize() * Collision.SCALE, map.getHeight() * map.getTileSize() * Collision.SCALE);
+        this.monsterSpawns = new SpawnIndex(Enemies.enemies, map.getWidth() * map.getTileSize() * Collision.SCALE, map.getHeight() * map.getTileSize() * Collision.SCALE);
+        this.dragonSpawns = new SpawnIndex(Enemies.dragons, map.getWidth() * map.getTileSize() * Collision.SCALE, map.getHeight() * map.getTileSize() * Collision.SCALE);
 
-        this.map = new Map("resources/map/");
+        this.grid.add(player);
         this.stack = new KeyStack(this);
-        this.wasReleasedO = true;
-        this.wasReleasedSpace = true;
-        this.wasReleasedI = true;
-        this.wasReleasedK = true;
-        this.wasReleasedL = true;
-        this.wasReleasedM = true;
 
         stack.listenTo("Z");
         stack.listenTo("S");
@@ -159,313 +205,300 @@ public class Canvas extends JPanel {
         stack.listenTo("L");
         stack.listenTo("M");
         stack.listenTo("H");
+        stack.listenTo("F3");
 
         this.camera.setFocusOn(player);
+        this.world = capture();
         // ---------------
 
         Function<Void, Void> loop = e -> {
-            if (!hasStarted || player.isDead() || isBossDead) {
-                if (stack.isPressed("ENTER")) {
+            tick();
 
-                    for (Entity ent : allEntities) {
-                        ent.current.stop();
-                    }
+            // Publish what the renderer needs, it never reads the entities themselves
+            world = capture();
+            return null;
+        };
 
-                    this.player = new Player(1300, 7300);
-                    
-                    this.allEntities = new ArrayList<>(); 
-                    this.allEntities.add(player);
-                    this.badguys = new ArrayList<>();
-                    this.camera.setFocusOn(player);
+        mainTimer = new TrueTimer(loop, isActive ? null : this::repaint);
+        TimingWheel.get().setStep(mainTimer.getStep());
+        mainTimer.setIdle(() -> world.isStatic(), () -> stack.awaitInput(inputCount, world.isPaused ? IDLE_REFRESH : 0));
+        mainTimer.execute();
+    }
 
-                    this.hasStarted = true;
-                    this.inDialog = true;
-                    this.dialogIndex = 0;
-                    this.wasReleasedEnter = false;
+    /**
+     * @brief Spawn the monster of a spawn point.
+     * @param point The index in Enemies.enemies.
+     */
+    private void spawnMonster(int point) {
+        Monster newMonster = monsterPool.obtain(Enemies.enemies[point][0], Enemies.enemies[point][1], player, Enemies.enemies[point][2]);
+        grid.add(newMonster);
+        badguys.add(newMonster);
+    }
 
-                    this.start = Instant.now();
-                    this.isBossDead = false;
-                }
+    /**
+     * @brief Spawn the dragon of a spawn point.
+     * @param point The index in Enemies.dragons.
+     */
+    private void spawnDragon(int point) {
+        Dragon newMonster = dragonPool.obtain(Enemies.dragons[point][0], Enemies.dragons[point][1], player, Enemies.dragons[point][2]);
+        grid.add(newMonster);
+        badguys.add(newMonster);
+    }
 
+    /**
+     * @brief Remove a monster from the game and give it back to its pool.
+     *
+     *        The last monster takes its place, so it is removed in constant time.
+     *
+     * @param i The index in badguys.
+     */
+    private void despawn(int i) {
+        Monster monster = badguys.get(i);
+        int last = badguys.size() - 1;
 
-                repaint();
-                return null;
-            }
+        badguys.set(i, badguys.get(last));
+        badguys.remove(last);
+        grid.remove(monster);
+        monster.current.stop();
 
-            if (stack.isPressed("ESCAPE")) {
-                if (wasReleasedEsc) {
-                    if (isPaused) {
-                        isPaused = false;
-                        for (Entity ent : this.allEntities) {
-                            ent.current.resume();
-                        }
-                    } else {
-                        isPaused = true;
-                        for (Entity ent : this.allEntities) {
-                            ent.current.stop();
-                        }
-                    }
-                    wasReleasedEsc = false;
+        if (monster instanceof Dragon) {
+            dragonPool.release((Dragon)monster);
+        } else {
+            monsterPool.release(monster);
+        }
+    }
 
-                    repaint();
-                    return null;
-                }
-            } else {
-                wasReleasedEsc = true;
-            }
+    /**
+     * @brief Run a simulation tick.
+     *
+     *        Reads inputs, moves and spawns entities, resolves attacks.
+     */
+    private void tick() {
+        // Read before the keys, so an input happening during the tick wakes the idle wait
+        inputCount = stack.getInputCount();
+        stack.latch();
+        stack.getLatency().onTick(++tickCount);
+
+        // Keep previous state for rendering interpolation
+        player.savePosition();
+        for (Monster badguy : this.badguys) {
+            badguy.savePosition();
+        }
 
-            if (isPaused) {
-                repaint();
-                return null;
-            }
+        if (!hasStarted || player.isDead() || isBossDead) {
+            // A tap shorter than a tick is only seen as pressed
+            if (stack.wasPressedThisTick(KeyEvent.VK_ENTER) || stack.isDown(KeyEvent.VK_ENTER)) {
 
+                player.current.stop();
 
-            for (int i = 0 ; i < Dialogs.triggers.length ; i++) {
-                if (dialogIndex < i + 1
-                    && Range.isIn(Dialogs.triggers[i][0], Dialogs.triggers[i][1], (int)player.coordinates.x)
-                    && Range.isIn(Dialogs.triggers[i][2], Dialogs.triggers[i][3], (int)player.coordinates.y)) {
-                    
-                    dialogIndex = i + 1;
-                    inDialog = true;
+                // Out of the grid first, as pooled monsters must not be in it
+                this.grid.clear();
+                while (!badguys.isEmpty()) {
+                    despawn(badguys.size() - 1);
                 }
-            }
 
+                // Before the new player, which schedules its regeneration
+                TimingWheel.get().clear();
+                this.player = new Player(1300, 7300);
+                
+                this.grid.add(player);
+                this.camera.setFocusOn(player);
+                this.monsterSpawns.reset();
+                this.dragonSpawns.reset();
 
-            for (int i = 0 ; i < Enemies.enemies.length ; i++) {
-                int x = Enemies.enemies[i][0] - (int)player.coordinates.x;
-                int y = Enemies.enemies[i][1] - (int)player.coordinates.y;
+                this.hasStarted = true;
+                this.inDialog = true;
+                this.dialogIndex = 0;
 
-                hasSpawned[i] = Math.max(0, hasSpawned[i] - 1);
-                
-                if (x * x < getWidth() * getWidth() / 4 && y * y < getHeight() * getHeight() / 4) {
-                    if (hasSpawned[i] == 0 && isNotThere[i] == 0) {
-                        Monster newMonster = new Monster(Enemies.enemies[i][0], Enemies.enemies[i][1], player, Enemies.enemies[i][2]);
-                        allEntities.add(newMonster);
-                        badguys.add(newMonster);
-                        hasSpawned[i] = 5000;
-                        isNotThere[i] = 1;
-                    }
-                } else {
-                    isNotThere[i] = 0;
-                }
+                this.start = Instant.now();
+                this.isBossDead = false;
             }
 
-            for (int i = 0 ; i < Enemies.dragons.length ; i++) {
-                int x = Enemies.dragons[i][0] - (int)player.coordinates.x;
-                int y = Enemies.dragons[i][1] - (int)player.coordinates.y;
 
-                hasSpawnedDragon[i] = Math.max(0, hasSpawnedDragon[i] - 1);
-                
-                if (x * x < getWidth() * getWidth() / 4 && y * y < getHeight() * getHeight() / 4) {
-                    if (hasSpawnedDragon[i] == 0 && isNotThereDragon[i] == 0) {
-                        Dragon newMonster = new Dragon(Enemies.dragons[i][0], Enemies.dragons[i][1], player, Enemies.dragons[i][2]);
-                        allEntities.add(newMonster);
-                        badguys.add(newMonster);
-                        hasSpawnedDragon[i] = 5000;
-                        isNotThereDragon[i] = 1;
-                    }
-                } else {
-                    isNotThereDragon[i] = 0;
-                }
-            }
+            return;
+        }
 
-            // TESTING PURPOSE
-            Vector2D movement = new Vector2D();
-            if (stack.isPressed("C")) {
-                movement.y -= 1;
-            }
-            if (stack.isPressed("Z")) {
-                movement.y -= 1;
-            }
-            if (stack.isPressed("S")) {
-                movement.y += 1;
-            }
-            if (stack.isPressed("Q")) {
-                movement.x -= 1;
-            }
-            if (stack.isPressed("D")) {
-                movement.x += 1;
-            }
-            if (stack.isPressed("O")) {
-                if (wasReleasedO && !player.isDodging() && !player.isBlocking()) {
-                    player.attack();
-                    wasReleasedO = false;
+        if (stack.wasPressedThisTick(KeyEvent.VK_ESCAPE)) {
+            if (isPaused) {
+                isPaused = false;
+                player.current.resume();
+                for (Monster badguy : this.badguys) {
+                    badguy.current.resume();
                 }
             } else {
-                wasReleasedO = true;
-            }
-            if (stack.isPressed("SPACE")) {
-                if (wasReleasedSpace) {
-                    player.dodge();
-                    wasReleasedSpace = false;
+                isPaused = true;
+                player.current.stop();
+                for (Monster badguy : this.badguys) {
+                    badguy.current.stop();
                 }
-            } else {
-                wasReleasedSpace = true;
             }
 
-            if (stack.isPressed("H")) {
-                if (wasReleasedH) {
-                    showHelp = !showHelp;
-                    wasReleasedH = false;
-                }
-            } else {
-                wasReleasedH = true;
-            }
+            return;
+        }
 
-            if (stack.isPressed("ENTER")) {
-                if (wasReleasedEnter && inDialog) {
-                    inDialog = false;
-                    wasReleasedEnter = false;
-                }
-            } else {
-                wasReleasedEnter = true;
-            }
+        if (isPaused) {
+            return;
+        }
 
-            if (stack.isPressed("K")) {
-                if (wasReleasedK && player.skillPoints > 0) {
-                    player.getStats().upgradeAttack();
-                    player.skillPoints--;
-                    wasReleasedK = false;
-                }
-            } else {
-                wasReleasedK = true;
-            }
+        // Timers only advance while the game is running
+        TimingWheel.get().advance();
 
-            if (stack.isPressed("L")) {
-                if (wasReleasedL && player.skillPoints > 0) {
-                    player.getStats().upgradeDefence();
-                    player.skillPoints--;
-                    wasReleasedL = false;
-                }
-            } else {
-                wasReleasedL = true;
-            }
 
-            if (stack.isPressed("M")) {
-                if (wasReleasedM && player.skillPoints > 0) {
-                    player.getStats().upgradeSpeed();
-                    player.skillPoints--;
-                    wasReleasedM = false;
-                }
-            } else {
-                wasReleasedM = true;
+        for (int i = 0 ; i < Dialogs.triggers.length ; i++) {
+            if (dialogIndex < i + 1
+                && Range.isIn(Dialogs.triggers[i][0], Dialogs.triggers[i][1], (int)player.coordinates.x)
+                && Range.isIn(Dialogs.triggers[i][2], Dialogs.triggers[i][3], (int)player.coordinates.y)) {
+                
+                dialogIndex = i + 1;
+                inDialog = true;
             }
+        }
 
-            if (stack.isPressed("I") && wasReleasedI) {
-                player.block();
-                wasReleasedI = false;
-            }
 
-            if (!stack.isPressed("I") && !wasReleasedI) {
-                player.stopBlocking();
-                wasReleasedI = true;
-            }
+        monsterSpawns.update((int)player.coordinates.x, (int)player.coordinates.y, getWidth(), getHeight(), monsterSpawner);
+        dragonSpawns.update((int)player.coordinates.x, (int)player.coordinates.y, getWidth(), getHeight(), dragonSpawner);
 
-            // ---------------
+        // TESTING PURPOSE
+        movement.setTo(0, 0);
+        if (stack.isDown(KeyEvent.VK_C)) {
+            movement.y -= 1;
+        }
+        if (stack.isDown(KeyEvent.VK_Z)) {
+            movement.y -= 1;
+        }
+        if (stack.isDown(KeyEvent.VK_S)) {
+            movement.y += 1;
+        }
+        if (stack.isDown(KeyEvent.VK_Q)) {
+            movement.x -= 1;
+        }
+        if (stack.isDown(KeyEvent.VK_D)) {
+            movement.x += 1;
+        }
+        if (stack.wasPressedThisTick(KeyEvent.VK_O) && !player.isDodging() && !player.isBlocking()) {
+            player.attack();
+        }
+        if (stack.wasPressedThisTick(KeyEvent.VK_SPACE)) {
+            player.dodge();
+        }
 
-            // movement
+        if (stack.wasPressedThisTick(KeyEvent.VK_H)) {
+            showHelp = !showHelp;
+        }
 
-            // The minimum distance required between player and monster
-            double minDistance = 70.0;
+        if (stack.wasPressedThisTick(KeyEvent.VK_F3)) {
+            showLatency = !showLatency;
+        }
 
-            // Cooldown time for monster attacks
-            double cooldown = 60.0;
+        if (stack.wasPressedThisTick(KeyEvent.VK_ENTER) && inDialog) {
+            inDialog = false;
+        }
 
-            ArrayList<Monster> deadguys = new ArrayList<>();
+        if (stack.wasPressedThisTick(KeyEvent.VK_K) && player.useSkillPoint()) {
+            player.getStats().upgradeAttack();
+        }
 
-            player.move(movement, player.getStats().getSpeed() / 10 + 0.5, allEntities);
-            lastHit++;
+        if (stack.wasPressedThisTick(KeyEvent.VK_L) && player.useSkillPoint()) {
+            player.getStats().upgradeDefence();
+        }
 
-            for (Monster badguy : badguys) {
-                Vector2D difference = Vector2D.subtract(player.getPosition(), badguy.getPosition());
+        if (stack.wasPressedThisTick(KeyEvent.VK_M) && player.useSkillPoint()) {
+            player.getStats().upgradeSpeed();
+        }
 
-                if (difference.norm() > getWidth() * 2) {
-                    deadguys.add(badguy);
-                    continue;
-                }
+        if (stack.wasPressedThisTick(KeyEvent.VK_I)) {
+            player.block();
+        } else if (!stack.isDown(KeyEvent.VK_I) && player.isBlocking()) {
+            player.stopBlocking();
+        }
 
-                if (difference.norm() < AGGRO_RANGE) {
-                    badguy.isActive = true;
-                    if (!badguy.isDodging() && !badguy.isBlocking() && !badguy.isAttacking() && !badguy.current.isPlaying()) {
-                        badguy.current.resume();
-                    }
+        // ---------------
 
-                    if (difference.norm() > minDistance) {
-                        // Normalize the vector to set the direction
-                        difference.normalize();
-                        badguy.move(difference, badguy.getStats().getSpeed() / 10 + 0.5, allEntities);
-                    } else if (difference.norm() <= minDistance) {
-                        // Stop monster movement and attempt an attack
-                        badguy.stopMoving();
-                        Monster.tryAttack(badguy, player, difference, PROBABILITY_OF_ATTACK, cooldown);
-
-                        // Handle monster attack
-                        if (Collision.checkMonsterAttack(badguy, player, badguy.getPosition(), player.getPosition())) {
-                            Collision.handleMonsterAttack(badguy, player, badguy.getPosition(), player.getPosition());
-
-                            lastHit = 0;
-                            accel = 0;
-                        }
-                    }
-                } else {
-                    // If outside aggro range, make the monster move randomly
-                    if (difference.norm() > getWidth() / this.map.getTileSize() * 2) {
-                        badguy.current.stop();
-                        badguy.isActive = false;
-                    } else {
-                        badguy.current.resume();
-                        badguy.isActive = true;
-                    }
+        // movement
 
-                    badguy.randMovement(allEntities);
-                }
+        // The minimum distance required between player and monster
+        double minDistance = 70.0;
+
+        // Cooldown time for monster attacks, in milliseconds
+        long cooldown = 240;
 
-                // Handle player attack
-                if (Collision.checkPlayerAttack(player, badguy, player.getPosition(), badguy.getPosition())) {
-                    Collision.handlePlayerAttack(player, badguy, player.getPosition(), badguy.getPosition());
+        player.move(movement, player.getStats().getSpeed() / 10 + 0.5, grid);
+
+        // Handle player attack on monsters near the sword
+        Collision.handlePlayerAttacks(player, grid);
+
+        // Distances are compared squared to avoid square roots
+        double despawnRange = getWidth() * 2;
+        double activeRange = getWidth() / this.map.getTileSize() * 2;
+
+        // Removed monsters are replaced by the last one, which is then processed at the same index
+        for (int i = 0 ; i < badguys.size() ; i++) {
+            Monster badguy = badguys.get(i);
+            difference.setTo(player.getPosition()).subLocal(badguy.getPosition());
+            double distanceSq = difference.normSq();
+
+            if (distanceSq > despawnRange * despawnRange) {
+                despawn(i--);
+                continue;
+            }
+
+            if (distanceSq < AGGRO_RANGE * AGGRO_RANGE) {
+                badguy.isActive = true;
+                if (!badguy.isDodging() && !badguy.isBlocking() && !badguy.isAttacking() && !badguy.current.isPlaying()) {
+                    badguy.current.resume();
                 }
 
-                if (badguy.isDead()) {
-                    deadguys.add(badguy);
+                if (distanceSq > minDistance * minDistance) {
+                    // Normalize the vector to set the direction
+                    difference.normalize();
+                    badguy.move(difference, badguy.getStats().getSpeed() / 10 + 0.5, grid);
+                } else {
+                    // Stop monster movement and attempt an attack
+                    badguy.stopMoving();
+                    Monster.tryAttack(badguy, player, difference, PROBABILITY_OF_ATTACK, cooldown);
 
-                    player.xp += badguy.xp;
-                    
-                    while (player.xp / (player.level * 250 + 500) > 0) {
-                        player.xp -= player.level * 250 + 500;
-                        player.level++;
-                        player.skillPoints += 5;
-                    }
+                    // Handle monster attack
+                    if (Collision.checkMonsterAttack(badguy, player, badguy.getPosition(), player.getPosition())) {
+                        Collision.handleMonsterAttack(badguy, player, badguy.getPosition(), player.getPosition());
 
-                    if (badguy instanceof Dragon) {
-                        if (((Dragon)badguy).zone == 5) {
-                            isBossDead = true;
-                            end = Instant.now();
-                        }
+                        player.resetRegen();
                     }
-                    
                 }
-            }
+            } else {
+                // If outside aggro range, make the monster move randomly
+                if (distanceSq > activeRange * activeRange) {
+                    badguy.current.stop();
+                    badguy.isActive = false;
+                } else {
+                    badguy.current.resume();
+                    badguy.isActive = true;
+                }
 
-            for (Monster deadguy : deadguys) {
-                badguys.remove(deadguy);
-                allEntities.remove(deadguy);
-                
-                deadguy.current.stop();
+                badguy.randMovement(grid);
             }
 
-            // Auto regen
-            if (lastHit > 1000) {
-                accel++;
-                lastHit = 750 + accel * 10;
-                player.getStats().heal(1);
-            }
+            if (badguy.isDead()) {
+                player.gainXp(badguy.xp);
 
-            repaint();
-            return null;
-        };
+                if (badguy instanceof Dragon) {
+                    if (((Dragon)badguy).zone == 5) {
+                        isBossDead = true;
+                        end = Instant.now();
+                    }
+                }
 
-        mainTimer = new TrueTimer(4, loop);
-        mainTimer.execute();
+                despawn(i--);
+            }
+        }
+    }
+
+    /**
+     * @brief Copy the current world state for the renderer.
+     * @return The snapshot.
+     */
+    private WorldSnapshot capture() {
+        return new WorldSnapshot(badguys, player, hasStarted, isBossDead, isPaused, inDialog, dialogIndex, showHelp, showLatency, tickCount,
+                mainTimer != null ? mainTimer.getTickTime() : System.nanoTime(), start, end);
     }
 
     /**
@@ -505,28 +538,79 @@ public class Canvas extends JPanel {
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
 
-        if (!hasStarted) {
-            camera.drawTextFixed(g, 20, 100, "Les chevaliers", 48, Color.white);
-            camera.drawTextFixed(g, 20, 150, "d'Ether", 48, Color.white);
-            camera.drawTextFixed(g, 150, 500, "Press ENTER to begin...", 24, Color.white);
+        if (this.activeRenderer == null) {
+            drawFrame(g);
+        }
+    }
+
+    /**
+     * @brief Start drawing frames if in active rendering mode.
+     *
+     * @warning It must be called once the window is packed.
+     */
+    public void startRendering() {
+        if (this.activeRenderer != null) {
+            this.activeRenderer.start();
+        }
+    }
+
+    /**
+     * @brief Get the latest published world snapshot.
+     * @return The snapshot.
+     */
+    WorldSnapshot getWorld() {
+        return this.world;
+    }
+
+    /**
+     * @brief Draw and time a frame.
+     * @param g The objects that stores informations that will be drawn.
+     */
+    void drawFrame(Graphics g) {
+        long frameStart = System.nanoTime();
+        WorldSnapshot world = this.world;
+        Assets.beginFrame();
+
+        try {
+            render(g, world);
+        } finally {
+            Assets.endFrame();
+        }
+
+        stack.getLatency().onPresent(world.tick);
+
+        frameStats.record(System.nanoTime() - frameStart);
+    }
+
+    /**
+     * @brief Draw the current screen.
+     * @param g The objects that stores informations that will be drawn.
+     * @param world The snapshot to draw.
+     */
+    private void render(Graphics g, WorldSnapshot world) {
+        // Computed when drawing, a frame may come long after the tick with the active renderer
+        double alpha = mainTimer != null ? world.getAlpha(System.nanoTime(), mainTimer.getStep()) : 1;
+
+        if (!world.hasStarted) {
+            camera.drawCachedTextFixed(g, 20, 100, "Les chevaliers", 48, Color.white);
+            camera.drawCachedTextFixed(g, 20, 150, "d'Ether", 48, Color.white);
+            camera.drawCachedTextFixed(g, 150, 500, "Press ENTER to begin...", 24, Color.white);
             
-            try {
-                g.drawImage(ImageIO.read(new File("resources/logo.png")), 300, 150, 350, 350, this);
-            } catch (Exception e) {}
+            g.drawImage(Assets.getImage(Assets.LOGO), 300, 150, 350, 350, this);
 
             return;
         }
 
-        if (player.isDead()) {
-            camera.drawTextFixed(g, (int)getCenter().x - (isFullscreen ? 240 : 200), (int)getCenter().y - 10, "YOU DIED", 48, new Color(181, 0, 6));
-            camera.drawTextFixed(g, (int)getCenter().x - (isFullscreen ? 310 : 270), (int)getCenter().y + 30, "Press ENTER to restart.", 24, Color.white);
+        if (world.isPlayerDead) {
+            camera.drawCachedTextFixed(g, (int)getCenter().x - (isFullscreen ? 240 : 200), (int)getCenter().y - 10, "YOU DIED", 48, new Color(181, 0, 6));
+            camera.drawCachedTextFixed(g, (int)getCenter().x - (isFullscreen ? 310 : 270), (int)getCenter().y + 30, "Press ENTER to restart.", 24, Color.white);
             return;
         }
 
-        if (isBossDead) {
-            camera.drawTextFixed(g, (int)getCenter().x - (isFullscreen ? 240 : 200), (int)getCenter().y - 10, "YOU WON!", 48, new Color(65, 250, 139));
+        if (world.isBossDead) {
+            camera.drawCachedTextFixed(g, (int)getCenter().x - (isFullscreen ? 240 : 200), (int)getCenter().y - 10, "YOU WON!", 48, new Color(65, 250, 139));
             
-            Duration total = Duration.between(start, end);
+            Duration total = Duration.between(world.start, world.end);
             int milli = total.toMillisPart();
             int sec = total.toSecondsPart();
             int min = total.toMinutesPart();
@@ -535,7 +619,7 @@ public class Canvas extends JPanel {
             String format = String.format("%02d:%02d:%02d.%03d", hour, min, sec, milli);
             
             camera.drawTextFixed(g, (getWidth() - (13 + format.length()) * 18) / 2, (int)getCenter().y + 30, "Total time : " + format, 18, Color.white);
-            camera.drawTextFixed(g, (int)getCenter().x - (isFullscreen ? 310 : 270), (int)getCenter().y + 60, "Press ENTER to restart.", 24, Color.white);
+            camera.drawCachedTextFixed(g, (int)getCenter().x - (isFullscreen ? 310 : 270), (int)getCenter().y + 60, "Press ENTER to restart.", 24, Color.white);
             return;
         }
 
@@ -545,8 +629,13 @@ public class Canvas extends JPanel {
         int SCALE = 2;
 
         // Get focused coordinates
-        int focusX = this.camera.getFocused() != null ? (int) this.camera.getFocused().getPosition().x : 0;
-        int focusY = this.camera.getFocused() != null ? (int) this.camera.getFocused().getPosition().y : 0;
+        Vector2D playerPosition = world.getPosition(world.playerIndex, alpha, this.playerDrawPosition);
+        this.camera.setFocusPosition(playerPosition.x, playerPosition.y);
+        this.camera.beginFrame(this.map, SCALE);
+
+        Vector2D focus = this.camera.getFocusPosition();
+        int focusX = (int) focus.x;
+        int focusY = (int) focus.y;
 
         // Get tile infos for screen
         int width = getPreferredSize().width / (this.map.getTileSize() * SCALE);
@@ -580,49 +669,43 @@ public class Canvas extends JPanel {
             upperTileIndexY -= upperTileIndexY - map.getHeight();
         }
 
-        for (int i = lowerTileIndexX; i < upperTileIndexX; i++) {
-            for (int j = lowerTileIndexY; j < upperTileIndexY; j++) {
-                this.map.drawTile(this.camera, g, i, j, SCALE);
-            }
-        }
-
-        for (Entity badguy : badguys) {
-            this.camera.drawImageClamped(g, this.map, badguy.getSprite(), badguy.getPosition().x,
-                    badguy.getPosition().y,
-                    SCALE, badguy.getOffset());
+        this.map.drawChunks(this.camera, g, lowerTileIndexX, lowerTileIndexY, upperTileIndexX, upperTileIndexY, SCALE);
 
-            HUD.drawEntityHealth(g, camera, map, badguy, SCALE);
-            HUD.drawEntityCooldown(g, camera, map, badguy, SCALE);
-        }
+        for (int i = 0 ; i < world.playerIndex ; i++) {
+            Vector2D position = world.getPosition(i, alpha, this.drawPosition);
+            Vector2D size = world.getSpriteSize(i, this.drawSize);
 
-        this.camera.drawImageClamped(g, this.map, this.player.getSprite(), this.player.getPosition().x, this.player.getPosition().y,
-                SCALE, this.player.getOffset());
+            // Monsters out of screen are neither drawn nor labelled
+            if (!this.camera.isOnScreenClamped(this.map, position.x, position.y,
+                    2 * (size.x * SCALE + HUD_MARGIN), 2 * (size.y * SCALE + HUD_MARGIN))) {
+                continue;
+            }
 
-        HUD.drawTime(g, camera, this, start);
+            this.camera.drawImageClamped(g, this.map, world.getSprite(i), position.x, position.y,
+                    SCALE, world.getOffset(i));
 
-        // LEFT HUD
+            HUD.drawEntityHealth(g, camera, map, world, i, position, SCALE);
+            HUD.drawEntityCooldown(g, camera, map, world, i, position, SCALE);
+        }
 
-        HUD.drawEntityCooldown(g, camera, map, player, SCALE);
-        HUD.drawPlayerHealth(g, camera, player);
-        HUD.drawStat(g, camera, player.getStats().getAttack(), "Attack", 25, 65, 150, 50);
-        HUD.drawStat(g, camera, player.getStats().getDefence(), "Defence", 25,85, 150, 70);
-        HUD.drawStat(g, camera, player.getStats().getSpeed(), "Speed", 25, 105, 150, 90);
+        this.camera.drawImageClamped(g, this.map, world.getSprite(world.playerIndex), playerPosition.x, playerPosition.y,
+                SCALE, world.getOffset(world.playerIndex));
 
-        // RIGHT HUD
+        HUD.drawTime(g, camera, this, world.start);
 
-        HUD.drawXP(g, camera, this, player);
+        HUD.drawEntityCooldown(g, camera, map, world, world.playerIndex, playerPosition, SCALE);
+        this.hudLayer.draw(g, camera, this, world);
 
-        // Bottom HUD
-        if (showHelp) {
-            HUD.drawCommands(g, camera, this);
+        if (world.isPaused) {
+            camera.drawCachedTextFixed(g, (int)getCenter().x - 100, (int)getCenter().y, "Paused", 24, Color.white);
         }
 
-        if (isPaused) {
-            camera.drawTextFixed(g, (int)getCenter().x - 100, (int)getCenter().y, "Paused", 24, Color.white);
+        if (world.inDialog) {
+            HUD.drawDialog(g, camera, this, Dialogs.get(world.dialogIndex));
         }
 
-        if (inDialog) {
-            HUD.drawDialog(g, camera, this, Dialogs.get(dialogIndex));
+        if (world.showLatency) {
+            camera.drawTextFixed(g, 10, getHeight() - 60, stack.getLatency().getSummary(), 10, Color.white);
         }
 
         // ---------------
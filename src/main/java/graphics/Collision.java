@@ -7,7 +7,6 @@ import character.Player;
 import geometry.Vector2D;
 import map.Map;
 
-import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.Random;
 
@@ -21,7 +20,7 @@ public class Collision {
     /**
      * @brief The map used for collision detection.
      */
-    private static Map map = new Map("resources/map/");
+    private static Map map = Assets.getMap(Assets.MAIN_MAP);
 
     /**
      * @brief The current state of the player entity.
@@ -44,125 +43,76 @@ public class Collision {
     static int SCALE = 2;
 
     /**
-     * @brief A random number generator for various uses.
+     * @brief The width of player and monsters hitboxes.
      */
-    static Random random = new Random();
+    static final int HITBOX_WIDTH = (int) (64 * SCALE / 2.25);
 
     /**
-     * @brief Retrieves the hitbox for the player at the specified position.
-     *
-     *        This method calculates and returns the hitbox for the player based on
-     *        the given position.
-     *
-     * @param entity      The player entity.
-     * @param newPosition The position at which to calculate the player's hitbox.
-     * @return A Rectangle representing the player's hitbox at the specified
-     *         position.
+     * @brief The height of player and monsters hitboxes.
      */
-    public static Rectangle getPlayerHitbox(Entity entity, Vector2D newPosition) {
-        int rectWidth = (int) (64 * SCALE / 2.25);
-        int rectHeight = (int) (64 * SCALE / 1.6);
-        return new Rectangle((int) newPosition.x, (int) newPosition.y, rectWidth, rectHeight);
-    }
+    static final int HITBOX_HEIGHT = (int) (64 * SCALE / 1.6);
 
     /**
-     * @brief Retrieves the hitbox for the monster at the specified position.
-     *
-     *        This method calculates and returns the hitbox for the monster based on
-     *        the given position.
-     *
-     * @param entity      The monster entity.
-     * @param newPosition The position at which to calculate the monster's hitbox.
-     * @return A Rectangle representing the monster's hitbox at the specified
-     *         position.
+     * @brief A random number generator for various uses.
      */
-    public static Rectangle getMonsterHitbox(Entity entity, Vector2D newPosition) {
-        int rectWidth = (int) (64 * SCALE / 2.25);
-        int rectHeight = (int) (64 * SCALE / 1.6);
-        return new Rectangle((int) newPosition.x, (int) newPosition.y, rectWidth, rectHeight);
-    }
+    static Random random = new Random();
 
     /**
-     * @brief Retrieves the hitbox for the entity's sword during an attack.
-     *
-     *        This method calculates and returns the hitbox for the entity's sword
-     *        during an attack. The hitbox dimensions are determined by scaling the
-     *        entity's sprite and positioning the sword based on the entity's facing
-     *        direction.
-     *
-     * @param entity The entity initiating the attack.
-     * @return A Rectangle representing the hitbox of the entity's sword during an
-     *         attack, or null if the entity is not currently attacking.
+     * @brief Reused list of entities near a moving entity, only used by the simulation thread.
      */
-    public static Rectangle getSwordHitbox(Entity entity) {
-
-        Vector2D offset = entity.getOffset();
-        double directionMultiplier = entity.isFacingLeft() ? -1 : 1;
-        int spriteWidth = entity.getSprite().getWidth();
+    private static ArrayList<Entity> nearby = new ArrayList<>();
 
-        int swordHeight = (int) (entity.getSprite().getHeight() * SCALE / 4);
+    /**
+     * @brief Reused list of entities near a sword, only used by the simulation thread.
+     */
+    private static ArrayList<Entity> nearbySword = new ArrayList<>();
 
-        if (entity.isAttacking()) {
-            double centerswordY = entity.getPosition().y - offset.y * SCALE + 10;
-            double centerswordX = entity.getPosition().x - offset.x + directionMultiplier * 64;
-            int swordWidth = (int) (spriteWidth);
-            return new Rectangle((int) centerswordX, (int) centerswordY, swordWidth, swordHeight);
-        }
+    /**
+     * @brief Reused sword box {x, y, width, height}, only used by the simulation thread.
+     */
+    private static int[] swordBox = new int[4];
 
-        return null;
+    /**
+     * @brief Checks if two axis aligned boxes overlap, like Rectangle.intersects.
+     *
+     * @param x1 The first box left side.
+     * @param y1 The first box top side.
+     * @param w1 The first box width.
+     * @param h1 The first box height.
+     * @param x2 The second box left side.
+     * @param y2 The second box top side.
+     * @param w2 The second box width.
+     * @param h2 The second box height.
+     * @return True if both boxes are not empty and overlap.
+     */
+    public static boolean overlaps(int x1, int y1, int w1, int h1, int x2, int y2, int w2, int h2) {
+        return w1 > 0 && h1 > 0 && w2 > 0 && h2 > 0
+            && x1 < x2 + w2 && x2 < x1 + w1
+            && y1 < y2 + h2 && y2 < y1 + h1;
     }
 
     /**
-     * @brief Retrieves the hitbox for a monster entity's sword during an attack.
+     * @brief Compute the hitbox of an entity's sword without allocating.
      *
-     *        This method calculates and returns the hitbox for a monster entity's
-     *        sword
-     *        during an attack. The hitbox dimensions are determined by scaling a
-     *        fixed
-     *        sprite width for monsters and positioning the sword based on the
-     *        entity's
-     *        facing direction.
-     *
-     * @param entity The monster entity initiating the attack.
-     * @return A Rectangle representing the hitbox of the monster entity's sword
-     *         during
-     *         an attack, or null if the entity is not currently attacking.
+     * @param entity    The entity initiating the attack.
+     * @param isMonster Use the monster sword dimensions ?
+     * @param box       The array to fill with {x, y, width, height}.
+     * @return True if the entity is attacking, else the box is left untouched.
      */
-    public static Rectangle getSwordHitboxMonster(Entity entity) {
+    private static boolean computeSwordBox(Entity entity, boolean isMonster, int[] box) {
+        if (!entity.isAttacking()) {
+            return false;
+        }
 
         Vector2D offset = entity.getOffset();
         double directionMultiplier = entity.isFacingLeft() ? -1 : 1;
-        int spriteWidth = 64;
+        int spriteWidth = isMonster ? 64 : entity.getSprite().getWidth();
 
-        int swordHeight = (int) (entity.getSprite().getHeight() * SCALE / 4);
-
-        if (entity.isAttacking()) {
-            double centerswordY = entity.getPosition().y - offset.y * SCALE + 10;
-            double centerswordX = entity.getPosition().x - offset.x + directionMultiplier * 45;
-            int swordWidth = (int) (spriteWidth / 2);
-            return new Rectangle((int) centerswordX, (int) centerswordY, swordWidth, swordHeight);
-        } else {
-            return null;
-        }
-
-    }
-
-    /**
-     * @brief Retrieves the hitbox for a tile at the specified grid coordinates.
-     *
-     *        This method calculates and returns the hitbox for a tile based on the
-     *        specified grid coordinates and the size of each tile.
-     *
-     * @param i        The horizontal grid coordinate of the tile.
-     * @param j        The vertical grid coordinate of the tile.
-     * @param tileSize The size of each side of the tile.
-     * @return A Rectangle representing the hitbox of the tile at the specified
-     *         grid coordinates.
-     */
-    public static Rectangle getTileHitbox(int i, int j, int tileSize) {
-        int tileX = i * tileSize;
-        int tileY = j * tileSize;
-        return new Rectangle(tileX, tileY, tileSize, tileSize);
+        box[0] = (int) (entity.getPosition().x - offset.x + directionMultiplier * (isMonster ? 45 : 64));
+        box[1] = (int) (entity.getPosition().y - offset.y * SCALE + 10);
+        box[2] = isMonster ? spriteWidth / 2 : spriteWidth;
+        box[3] = entity.getSprite().getHeight() * SCALE / 4;
+        return true;
     }
 
     /**
@@ -177,47 +127,63 @@ public class Collision {
      *        with walls
      *        using the checkCollisionWithWalls function.
      *
+     *        Other entities are only looked for in the grid cells around the
+     *        hitbox.
+     *
      * @param entity      The entity for which to check collisions.
      * @param newPosition The intended new position of the entity.
+     * @param others      The grid of entities that will be collided, can be null.
      * @return True if a collision is detected with walls or other entities;
      *         otherwise, false.
      */
-    public static boolean checkCollision(Entity entity, Vector2D newPosition, ArrayList<Entity> others) {
-
-        int tileSize = map.getTileSize() * SCALE;
+    public static boolean checkCollision(Entity entity, Vector2D newPosition, SpatialGrid others) {
+        return checkCollision(entity, newPosition.x, newPosition.y, others);
+    }
 
-        Rectangle rect = Entity.isMonster(entity) ? getMonsterHitbox(entity, newPosition)
-                : getPlayerHitbox(entity, newPosition);
+    /**
+     * @brief Checks for collisions of an entity with walls and other entities.
+     *
+     *        Same as the Vector2D version, without allocating anything.
+     *
+     * @param entity The entity for which to check collisions.
+     * @param newX   The intended new x position of the entity.
+     * @param newY   The intended new y position of the entity.
+     * @param others The grid of entities that will be collided, can be null.
+     * @return True if a collision is detected with walls or other entities;
+     *         otherwise, false.
+     */
+    public static boolean checkCollision(Entity entity, double newX, double newY, SpatialGrid others) {
 
+        int tileSize = map.getTileSize() * SCALE;
 
-        int topLeftIndexX = ((int)newPosition.x - tileSize) / tileSize;        
-        int topLeftIndexY = ((int)newPosition.y - tileSize) / tileSize;
+        int x = (int) newX;
+        int y = (int) newY;
 
-        // Check collision with walls
-        for (int i = topLeftIndexX; i < topLeftIndexX + 3; i++) {
-            for (int j = topLeftIndexY; j < topLeftIndexY + 3; j++) {
-                if (map.isWall(i, j)) {
-                    Rectangle tileRect = getTileHitbox(i, j, tileSize);
+        int topLeftIndexX = (x - tileSize) / tileSize;        
+        int topLeftIndexY = (y - tileSize) / tileSize;
 
-                    if (rect.intersects(tileRect)) {
+        // Check collision with walls, only looking at tiles when there is one nearby
+        if (map.isWallInRect(topLeftIndexX, topLeftIndexY, 3, 3)) {
+            for (int i = topLeftIndexX; i < topLeftIndexX + 3; i++) {
+                for (int j = topLeftIndexY; j < topLeftIndexY + 3; j++) {
+                    if (map.isWall(i, j) && overlaps(x, y, HITBOX_WIDTH, HITBOX_HEIGHT, i * tileSize, j * tileSize, tileSize, tileSize)) {
                         return true;
                     }
                 }
             }
         }
 
-        if (others != null) {
-            for (Entity other : others) {
-                if (other.equals(entity)) {
+        if (others != null && !entity.isDodging()) {
+            others.query(x, y, HITBOX_WIDTH, HITBOX_HEIGHT, nearby);
+
+            for (int i = 0 ; i < nearby.size() ; i++) {
+                Entity other = nearby.get(i);
+
+                if (other == entity) {
                     continue;
                 }
 
-                Rectangle otherHitbox = Entity.isMonster(other)
-                    ? getMonsterHitbox(other, other.getPosition())
-                    : getPlayerHitbox(other, other.getPosition());
-    
-                if (!entity.isDodging() && rect.intersects(otherHitbox)) {
-
+                if (overlaps(x, y, HITBOX_WIDTH, HITBOX_HEIGHT, (int) other.getPosition().x, (int) other.getPosition().y, HITBOX_WIDTH, HITBOX_HEIGHT)) {
                     return true;
                 }
             }
@@ -243,10 +209,9 @@ public class Collision {
      */
     public static boolean checkPlayerAttack(Player player, Monster monster, Vector2D newPositionPlayer,
             Vector2D newPositionMonster) {
-        Rectangle monsterHitbox = getMonsterHitbox(monster, newPositionMonster);
-        Rectangle playerSwordHitbox = getSwordHitbox(player);
-
-        return playerSwordHitbox != null && monsterHitbox != null && playerSwordHitbox.intersects(monsterHitbox);
+        return computeSwordBox(player, false, swordBox)
+            && overlaps(swordBox[0], swordBox[1], swordBox[2], swordBox[3],
+                (int) newPositionMonster.x, (int) newPositionMonster.y, HITBOX_WIDTH, HITBOX_HEIGHT);
     }
 
     /**
@@ -267,10 +232,9 @@ public class Collision {
      */
     public static boolean checkMonsterAttack(Monster monster, Player player, Vector2D newPositionMonster,
             Vector2D newPositionPlayer) {
-        Rectangle playerHitbox = getPlayerHitbox(player, newPositionPlayer);
-        Rectangle monsterSwordHitbox = getSwordHitboxMonster(monster);
-
-        return monsterSwordHitbox != null && playerHitbox != null && monsterSwordHitbox.intersects(playerHitbox);
+        return computeSwordBox(monster, true, swordBox)
+            && overlaps(swordBox[0], swordBox[1], swordBox[2], swordBox[3],
+                (int) newPositionPlayer.x, (int) newPositionPlayer.y, HITBOX_WIDTH, HITBOX_HEIGHT);
     }
 
     /**
@@ -293,7 +257,7 @@ public class Collision {
     public static void handlePlayerAttack(Player player, Monster monster, Vector2D newPositionPlayer,
             Vector2D newPositionMonster) {
         if (currentState != EntityState.HITSTUN) {
-            if (getSwordHitbox(player) != null) {
+            if (player.isAttacking()) {
                 if (player.isAttacking() && !player.isBeingHit() && !monster.isBlocking() && !monster.isDodging()
                         && !monster.isAttacking()) {
                     
@@ -303,6 +267,36 @@ public class Collision {
         }
     }
 
+    /**
+     * @brief Handles the player attack on all monsters under the sword.
+     *
+     *        Only the monsters in the grid cells around the sword are checked.
+     *
+     * @param player The player character initiating the attack.
+     * @param grid   The grid of entities.
+     */
+    public static void handlePlayerAttacks(Player player, SpatialGrid grid) {
+        if (!computeSwordBox(player, false, swordBox)) {
+            return;
+        }
+
+        grid.query(swordBox[0], swordBox[1], swordBox[2], swordBox[3], nearbySword);
+
+        for (int i = 0 ; i < nearbySword.size() ; i++) {
+            Entity other = nearbySword.get(i);
+
+            if (!Entity.isMonster(other)) {
+                continue;
+            }
+
+            Monster monster = (Monster) other;
+
+            if (checkPlayerAttack(player, monster, player.getPosition(), monster.getPosition())) {
+                handlePlayerAttack(player, monster, player.getPosition(), monster.getPosition());
+            }
+        }
+    }
+
     /**
      * @brief Handles the attack behavior of a monster towards the player.
      *
@@ -323,7 +317,7 @@ public class Collision {
     public static void handleMonsterAttack(Monster monster, Player player, Vector2D newPositionMonster,
             Vector2D newPositionPlayer) {
         if (currentStateMonster != EntityState.HITSTUN) {
-            if (getSwordHitboxMonster(monster) != null) {
+            if (monster.isAttacking()) {
                 if (monster.isAttacking() && !monster.isBeingHit() && !player.isDodging() && !player.isAttacking()) {
 
                     player.getDamage(monster);
@@ -0,0 +1,120 @@
+/**
+ * @brief This file contains the class EventQueue.
+ *
+ * @file EventQueue.java
+ * @author agent
+ * @date 17/10/2026
+ *
+ * Part of the `graphics` package.
+ * It contains a queue passing timestamped events from a thread to another.
+ */
+
+package graphics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @class EventQueue
+ * @author agent
+ * @date 17/10/2026
+ *
+ * @brief This class is a bounded queue of timestamped events between two threads.
+ *
+ * Each event is a time and a tag, stored in a ring of primitive arrays so nothing
+ * is allocated. Only one thread may offer events and only one other thread may read
+ * them, which allows the queue to work without locks : each side only writes its own
+ * index, and reads the other one to know how far it can go.
+ *
+ * When the queue is full, new events are dropped and counted.
+ */
+class EventQueue {
+    /** @brief The event times. */
+    private final long[] times;
+    /** @brief The event tags. */
+    private final long[] tags;
+    /** @brief The capacity minus one, to wrap indices. */
+    private final int mask;
+    /** @brief The index of the next event to read, written by the reader. */
+    private final AtomicLong head = new AtomicLong();
+    /** @brief The index of the next event to write, written by the writer. */
+    private final AtomicLong tail = new AtomicLong();
+    /** @brief The number of dropped events, written by the writer. */
+    private volatile long dropped;
+
+    /**
+     * @brief Creates an empty queue.
+     * @param capacity The maximum number of events, rounded up to a power of 2.
+     */
+    EventQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+
+        this.times = new long[size];
+        this.tags = new long[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * @brief Add an event, from the writing thread.
+     * @param time The event time.
+     * @param tag The event tag.
+     * @return false if the queue was full and the event dropped.
+     */
+    boolean offer(long time, long tag) {
+        long t = tail.get();
+
+        if (t - head.get() > mask) {
+            dropped++;
+            return false;
+        }
+
+        times[(int) (t & mask)] = time;
+        tags[(int) (t & mask)] = tag;
+
+        // Publishes the slot before the reader can see the new tail
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * @brief Tells if there is no event to read, from the reading thread.
+     * @return true if the queue is empty.
+     */
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    /**
+     * @brief Get the time of the oldest event, from the reading thread.
+     * @return The time.
+     * @pre The queue must not be empty.
+     */
+    long peekTime() {
+        return times[(int) (head.get() & mask)];
+    }
+
+    /**
+     * @brief Get the tag of the oldest event, from the reading thread.
+     * @return The tag.
+     * @pre The queue must not be empty.
+     */
+    long peekTag() {
+        return tags[(int) (head.get() & mask)];
+    }
+
+    /**
+     * @brief Remove the oldest event, from the reading thread.
+     * @pre The queue must not be empty.
+     */
+    void remove() {
+        // Frees the slot only once it has been read
+        head.lazySet(head.get() + 1);
+    }
+
+    /**
+     * @brief Get the number of events dropped because the queue was full.
+     * @return The number of dropped events.
+     */
+    long getDropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * @brief This file contains the public class FrameSet.
+ * 
+ * @file FrameSet.java
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * Part of the `graphics` package. It contains the frames of an animation, shared by all entities.
+ */
+
+package graphics;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * @class FrameSet
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * @brief This class stores the frames of an animation, shared by all entities.
+ * 
+ * A FrameSet is loaded once by @ref graphics.Assets and never modified, every
+ * Animation playing it only keeps its own frame index.
+ * 
+ * @see graphics.Animation
+ */
+public final class FrameSet {
+    /** @brief The frame set used when no frame could be found. */
+    static final FrameSet EMPTY = new FrameSet(new BufferedImage[0]);
+
+    /** @brief An array containing the frames. */
+    private final BufferedImage[] frames;
+
+    /**
+     * @brief Creates a frame set, the array must not be modified afterwards.
+     * @param frames The frames in order.
+     */
+    FrameSet(BufferedImage[] frames) {
+        this.frames = frames;
+    }
+
+    /**
+     * @brief Get a frame.
+     * @param index The frame index, starting at 0.
+     * @return The frame.
+     */
+    public BufferedImage get(int index) {
+        return frames[index];
+    }
+
+    /**
+     * @brief Get the number of frames.
+     * @return The frame count.
+     */
+    public int size() {
+        return frames.length;
+    }
+
+    /**
+     * @brief Gets the memory used by the frames.
+     * @return The size of all frames pixels, in bytes.
+     */
+    long getBytes() {
+        long bytes = 0;
+        for (BufferedImage frame : frames) {
+            bytes += 4L * frame.getWidth() * frame.getHeight();
+        }
+        return bytes;
+    }
+}
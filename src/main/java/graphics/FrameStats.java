@@ -0,0 +1,88 @@
+/**
+ * @brief This file contains the public class FrameStats.
+ * 
+ * @file FrameStats.java
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * Part of the `graphics` package. It contains a class that measures frame times.
+ */
+
+package graphics;
+
+/**
+ * @class FrameStats
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * @brief This class measures frame times and logs them every second.
+ * 
+ * Measures are only taken when profiling is enabled, with the `--profile` option.
+ * A logged line looks like :
+ * ```
+ * [render] 250 frames, avg 1.84 ms, max 6.02 ms
+ * ```
+ */
+public class FrameStats {
+    /** @brief Is profiling enabled ? */
+    private static volatile boolean isEnabled = false;
+
+    /** @brief The name shown in logs. */
+    private String name;
+    /** @brief The number of frames in the current second. */
+    private int count;
+    /** @brief The total time of the frames in the current second, in nanoseconds. */
+    private long total;
+    /** @brief The longest frame in the current second, in nanoseconds. */
+    private long max;
+    /** @brief The start of the current second, in nanoseconds. */
+    private long windowStart;
+
+    /**
+     * @brief Creates new frame stats.
+     * @param name The name shown in logs.
+     */
+    public FrameStats(String name) {
+        this.name = name;
+        this.windowStart = System.nanoTime();
+    }
+
+    /**
+     * @brief Enable or disable profiling for all frame stats.
+     * @param enabled Should frame times be measured ?
+     */
+    public static void setEnabled(boolean enabled) {
+        isEnabled = enabled;
+    }
+
+    /**
+     * @brief Tells if profiling is enabled.
+     * @return true if frame times are measured.
+     */
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * @brief Record a frame time, logging the stats once per second.
+     * @param nanos The frame time in nanoseconds.
+     */
+    public void record(long nanos) {
+        if (!isEnabled) {
+            return;
+        }
+
+        count++;
+        total += nanos;
+        max = Math.max(max, nanos);
+
+        long now = System.nanoTime();
+        if (now - windowStart >= 1_000_000_000L) {
+            System.out.printf("[%s] %d frames, avg %.2f ms, max %.2f ms%n", name, count, total / 1e6 / count, max / 1e6);
+            count = 0;
+            total = 0;
+            max = 0;
+            windowStart = now;
+        }
+    }
+}
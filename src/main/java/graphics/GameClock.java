@@ -0,0 +1,48 @@
+/**
+ * @brief This file contains the public class GameClock.
+ * 
+ * @file GameClock.java
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * Part of the `graphics` package. It contains the clock all the game is timed on.
+ */
+
+package graphics;
+
+/**
+ * @class GameClock
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * @brief This class is the clock all the game is timed on.
+ * 
+ * The clock only moves when the simulation advances it (see graphics.TrueTimer),
+ * so everything timed on it, animations for instance, follows simulation time
+ * instead of wall time.
+ * 
+ * @note It can be read from any thread but should only be advanced by the simulation.
+ */
+public class GameClock {
+    /** @brief The simulation time, in nanoseconds. */
+    private static volatile long nanos = 0;
+
+    /** @brief The class only has static members. */
+    private GameClock() {}
+
+    /**
+     * @brief Move the clock forward.
+     * @param elapsedNanos The simulated time, in nanoseconds.
+     */
+    public static void advance(long elapsedNanos) {
+        nanos += Math.max(0, elapsedNanos);
+    }
+
+    /**
+     * @brief Get the simulation time.
+     * @return The time since the simulation started, in milliseconds.
+     */
+    public static long millis() {
+        return nanos / 1_000_000;
+    }
+}
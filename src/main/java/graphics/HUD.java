@@ -6,49 +6,92 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 
-import character.Entity;
-import character.Player;
+import geometry.Vector2D;
 import map.Map;
 
 public class HUD {
-    static public void drawEntityHealth(Graphics g, Camera camera, Map map, Entity entity, int scale) {
-        double healthPercent = entity.getStats().getHealth().getPercent();
-        int healthLength = (int)(entity.getSpriteSize().x * healthPercent);
-        int healthOffset = (int)(entity.getSpriteSize().x * (1 - healthPercent) / 2);
+    /** @brief Reused sprite size, the HUD is only drawn by the rendering thread. */
+    private static final Vector2D SIZE = new Vector2D();
+
+    /** @brief The player health the text was built for. */
+    private static int playerHealth = -1;
+    /** @brief The player maximum health the text was built for. */
+    private static int playerMaxHealth = -1;
+    /** @brief The player health text. */
+    private static String playerHealthText;
+    /** @brief The level the text was built for. */
+    private static int level = -1;
+    /** @brief The level text. */
+    private static String levelText;
+    /** @brief The skill points the text was built for. */
+    private static int skillPoints = -1;
+    /** @brief The skill points text. */
+    private static String skillPointsText;
+    /** @brief The characters of the elapsed time, long enough for any duration. */
+    private static final char[] time = new char[32];
+    /** @brief The characters of a monster stat line, long enough for any values. */
+    private static final char[] stats = new char[48];
+
+    static public void drawEntityHealth(Graphics g, Camera camera, Map map, WorldSnapshot world, int index, Vector2D position, int scale) {
+        Vector2D size = world.getSpriteSize(index, SIZE);
+        double healthPercent = world.getHealthPercent(index);
+        int healthLength = (int)(size.x * healthPercent);
+        int healthOffset = (int)(size.x * (1 - healthPercent) / 2);
                     
-        camera.fillRectClamped(g, map, entity.getPosition().x, entity.getPosition().y - (int)(entity.getSpriteSize().y / 1.2), (int)entity.getSpriteSize().x, 1 * scale, Color.lightGray);
-        camera.fillRectClamped(g, map, entity.getPosition().x - healthOffset, entity.getPosition().y - (int)(entity.getSpriteSize().y / 1.2), healthLength, 1 * scale, new Color((int)(255 *  (1 - healthPercent)), (int)(255 *  healthPercent), 0));
-        camera.drawTextClamped(g, map, (int)entity.getPosition().x - (int)(entity.getSpriteSize().x / 2), (int)entity.getPosition().y - (int)(entity.getSpriteSize().y / 1.15), entity.getStats().getHealth().get() + "/" + entity.getStats().getHealth().getMax(), 8, Color.white);
-        camera.drawTextClamped(g, map, (int)entity.getPosition().x - (int)(entity.getSpriteSize().x / 2), (int)entity.getPosition().y - (int)(entity.getSpriteSize().y), (int)entity.getStats().getAttack() + "/" + (int)entity.getStats().getDefence() + "/" + (int)entity.getStats().getSpeed(), 8, Color.white);
+        camera.fillRectClamped(g, map, position.x, position.y - (int)(size.y / 1.2), (int)size.x, 1 * scale, Color.lightGray);
+        camera.fillRectClamped(g, map, position.x - healthOffset, position.y - (int)(size.y / 1.2), healthLength, 1 * scale, new Color((int)(255 *  (1 - healthPercent)), (int)(255 *  healthPercent), 0));
+
+        // These change with every hit and differ for each monster, so they are not worth caching as images
+        int length = formatNumber(stats, 0, world.getHealth(index));
+        stats[length++] = '/';
+        length = formatNumber(stats, length, world.getMaxHealth(index));
+        camera.drawTextClamped(g, map, (int)position.x - (int)(size.x / 2), (int)position.y - (int)(size.y / 1.15), stats, length, 8, Color.white);
+
+        length = formatNumber(stats, 0, (int)world.getAttack(index));
+        stats[length++] = '/';
+        length = formatNumber(stats, length, (int)world.getDefence(index));
+        stats[length++] = '/';
+        length = formatNumber(stats, length, (int)world.getSpeed(index));
+        camera.drawTextClamped(g, map, (int)position.x - (int)(size.x / 2), (int)position.y - (int)(size.y), stats, length, 8, Color.white);
     }
 
-    static public void drawEntityCooldown(Graphics g, Camera camera, Map map, Entity entity, int scale) {
-        double cooldownPercent = 1d * entity.attackCooldown / (1000 - entity.getStats().getSpeed() * 80); // 50 * (1000 - this.stats.getSpeed() * 80);  // <-- Linux
+    static public void drawEntityCooldown(Graphics g, Camera camera, Map map, WorldSnapshot world, int index, Vector2D position, int scale) {
+        double cooldownPercent = world.getCooldown(index);
         if (cooldownPercent == 0) {
             return;
         }
 
-        int cdLength = (int)(entity.getSpriteSize().x * cooldownPercent);
-        int cdOffset = (int)(entity.getSpriteSize().x * (1 - cooldownPercent) / 2);
+        Vector2D size = world.getSpriteSize(index, SIZE);
+        int cdLength = (int)(size.x * cooldownPercent);
+        int cdOffset = (int)(size.x * (1 - cooldownPercent) / 2);
                     
-        camera.fillRectClamped(g, map, entity.getPosition().x, entity.getPosition().y - (int)(entity.getSpriteSize().y / 1.3), (int)entity.getSpriteSize().x, 1 * scale, Color.lightGray);
-        camera.fillRectClamped(g, map, entity.getPosition().x - cdOffset, entity.getPosition().y - (int)(entity.getSpriteSize().y / 1.3), cdLength, 1 * scale, new Color((int)(255 *  (1 - cooldownPercent)), (int)(255 *  cooldownPercent), 0));
+        camera.fillRectClamped(g, map, position.x, position.y - (int)(size.y / 1.3), (int)size.x, 1 * scale, Color.lightGray);
+        camera.fillRectClamped(g, map, position.x - cdOffset, position.y - (int)(size.y / 1.3), cdLength, 1 * scale, new Color((int)(255 *  (1 - cooldownPercent)), (int)(255 *  cooldownPercent), 0));
     }
 
-    static public void drawPlayerHealth(Graphics g, Camera camera, Player player) {
+    static public void drawPlayerHealth(Graphics g, Camera camera, WorldSnapshot world) {
+        int player = world.playerIndex;
+        double healthPercent = world.getHealthPercent(player);
+
         g.setColor(Color.lightGray);
         g.fillPolygon(new int[]{20, 220, 210, 10}, new int[]{10, 10, 40, 40}, 4);
-        g.setColor(new Color((int)(255 *  (1 - player.getStats().getHealth().getPercent())), (int)(255 *  player.getStats().getHealth().getPercent()), 0));
-        g.fillPolygon(new int[]{20, 20 + (int)(200 * player.getStats().getHealth().getPercent()), 10 + (int)(200 * player.getStats().getHealth().getPercent()), 10}, new int[]{10, 10, 40, 40}, 4);
+        g.setColor(new Color((int)(255 *  (1 - healthPercent)), (int)(255 *  healthPercent), 0));
+        g.fillPolygon(new int[]{20, 20 + (int)(200 * healthPercent), 10 + (int)(200 * healthPercent), 10}, new int[]{10, 10, 40, 40}, 4);
         g.setColor(Color.black);
         g.drawPolygon(new int[]{20, 220, 210, 10}, new int[]{10, 10, 40, 40}, 4);
-        camera.drawTextFixed(g, 27, 27, player.getStats().getHealth().get() + "/" + player.getStats().getHealth().getMax(), 15, Color.black);
-        camera.drawTextFixed(g, 25, 25, player.getStats().getHealth().get() + "/" + player.getStats().getHealth().getMax(), 15, Color.white);
+        if (world.getHealth(player) != playerHealth || world.getMaxHealth(player) != playerMaxHealth) {
+            playerHealth = world.getHealth(player);
+            playerMaxHealth = world.getMaxHealth(player);
+            playerHealthText = playerHealth + "/" + playerMaxHealth;
+        }
+
+        camera.drawCachedTextFixed(g, 27, 27, playerHealthText, 15, Color.black);
+        camera.drawCachedTextFixed(g, 25, 25, playerHealthText, 15, Color.white);
     }
 
     static public void drawStat(Graphics g, Camera camera, double stat, String label, int xlbl, int ylbl, int x, int y) {
-        camera.drawTextFixed(g, xlbl + 2, ylbl + 2, label, 15, Color.black);
-        camera.drawTextFixed(g, xlbl, ylbl, label, 15, Color.white);
+        camera.drawCachedTextFixed(g, xlbl + 2, ylbl + 2, label, 15, Color.black);
+        camera.drawCachedTextFixed(g, xlbl, ylbl, label, 15, Color.white);
 
         for (int i = 0 ; i < (int)Math.floor(stat) + 1 ; i++) {
             g.setColor(Color.lightGray);
@@ -77,20 +120,30 @@ public class HUD {
         }
     }
 
-    static public void drawXP(Graphics g, Camera camera, Canvas canvas, Player player) {
-        camera.drawTextFixed(g, canvas.getWidth() - 218, 32, "Level " + player.level, 18, Color.black);
-        camera.drawTextFixed(g, canvas.getWidth() - 220, 30, "Level " + player.level, 18, Color.white);
+    static public void drawXP(Graphics g, Camera camera, Canvas canvas, WorldSnapshot world) {
+        if (world.level != level) {
+            level = world.level;
+            levelText = "Level " + level;
+        }
+
+        camera.drawCachedTextFixed(g, canvas.getWidth() - 218, 32, levelText, 18, Color.black);
+        camera.drawCachedTextFixed(g, canvas.getWidth() - 220, 30, levelText, 18, Color.white);
+
+        if (world.skillPoints > 0) {
+            if (world.skillPoints != skillPoints) {
+                skillPoints = world.skillPoints;
+                skillPointsText = skillPoints + "SP";
+            }
 
-        if (player.skillPoints > 0) {
-            camera.drawTextFixed(g, canvas.getWidth() - 58, 32, player.skillPoints + "SP", 18, Color.black);
-            camera.drawTextFixed(g, canvas.getWidth() - 60, 30, player.skillPoints + "SP", 18, Color.white);
+            camera.drawCachedTextFixed(g, canvas.getWidth() - 58, 32, skillPointsText, 18, Color.black);
+            camera.drawCachedTextFixed(g, canvas.getWidth() - 60, 30, skillPointsText, 18, Color.white);
         }
 
         g.setColor(Color.lightGray);
         g.fillPolygon(new int[]{canvas.getWidth() - 20, canvas.getWidth() - 220, canvas.getWidth() - 210, canvas.getWidth() - 10}, new int[]{50, 50, 80, 80}, 4);
         g.setColor(Color.blue);
 
-        double xpPercent = 1d * player.xp / (player.level * 250 + 500);
+        double xpPercent = 1d * world.xp / world.xpToNextLevel;
 
         g.fillPolygon(new int[]{canvas.getWidth() - 220, canvas.getWidth() - 210, canvas.getWidth() - (int)(200 * (1 - xpPercent)) - 10, canvas.getWidth() - (int)(200 * (1 - xpPercent)) - 20}, new int[]{50, 80, 80, 50}, 4);
         
@@ -99,8 +152,8 @@ public class HUD {
     }
 
     static public void drawCommands(Graphics g, Camera camera, Canvas canvas) {
-        camera.drawTextFixed(g, canvas.getWidth() / 2 - (canvas.isFullscreen ? 498 : 378), canvas.getHeight() - 28, "Move - ZQSD   Dodge - Space   Attack - O   Block - I   Use Skill Point - KLM", canvas.isFullscreen ? 14 : 10, Color.black);
-        camera.drawTextFixed(g, canvas.getWidth() / 2 - (canvas.isFullscreen ? 500 : 380), canvas.getHeight() - 30, "Move - ZQSD   Dodge - Space   Attack - O   Block - I   Use Skill Point - KLM", canvas.isFullscreen ? 14 : 10, Color.white);
+        camera.drawCachedTextFixed(g, canvas.getWidth() / 2 - (canvas.isFullscreen ? 498 : 378), canvas.getHeight() - 28, "Move - ZQSD   Dodge - Space   Attack - O   Block - I   Use Skill Point - KLM", canvas.isFullscreen ? 14 : 10, Color.black);
+        camera.drawCachedTextFixed(g, canvas.getWidth() / 2 - (canvas.isFullscreen ? 500 : 380), canvas.getHeight() - 30, "Move - ZQSD   Dodge - Space   Attack - O   Block - I   Use Skill Point - KLM", canvas.isFullscreen ? 14 : 10, Color.white);
     }
 
     static public void drawDialog(Graphics g, Camera camera, Canvas canvas, String text) {
@@ -130,7 +183,7 @@ public class HUD {
         lines.add(line);
 
         for (int i = 0 ; i < Math.min(lines.size(), 3) ; i++) {
-            camera.drawTextFixed(g, 40, canvas.getHeight() - 100 + i * 30, lines.get(i), 24, Color.black);
+            camera.drawCachedTextFixed(g, 40, canvas.getHeight() - 100 + i * 30, lines.get(i), 24, Color.black);
         }
 
         g.fillRect(canvas.getWidth() - 50, canvas.getHeight() - 50, 4, 10);
@@ -140,14 +193,52 @@ public class HUD {
 
     static public void drawTime(Graphics g, Camera camera, Canvas canvas, Instant start) {
         Duration total = Duration.between(start, Instant.now());
-        int milli = total.toMillisPart();
-        int sec = total.toSecondsPart();
-        int min = total.toMinutesPart();
-        int hour = total.toHoursPart();
 
-        String format = String.format("%02d:%02d:%02d.%03d", hour, min, sec, milli);
+        // Same as String.format("%02d:%02d:%02d.%03d"), without creating a string each frame
+        int length = formatDigits(time, 0, total.toHoursPart(), 2);
+        time[length++] = ':';
+        length = formatDigits(time, length, total.toMinutesPart(), 2);
+        time[length++] = ':';
+        length = formatDigits(time, length, total.toSecondsPart(), 2);
+        time[length++] = '.';
+        length = formatDigits(time, length, total.toMillisPart(), 3);
+
+        camera.drawTextFixed(g, (canvas.getWidth() - length * 16) / 2 + 2, 22, time, length, 16, Color.black);
+        camera.drawTextFixed(g, (canvas.getWidth() - length * 16) / 2, 20, time, length, 16, Color.white);
+    }
+
+    /**
+     * @brief Write a number, like Integer.toString does.
+     * @param buffer The characters to write to.
+     * @param offset The index of the first character to write.
+     * @param value The number.
+     * @return The index after the last written character.
+     */
+    static private int formatNumber(char[] buffer, int offset, int value) {
+        if (value < 0) {
+            buffer[offset++] = '-';
+            value = -value;
+        }
+
+        return formatDigits(buffer, offset, value, 1);
+    }
+
+    /**
+     * @brief Write a number with leading zeros.
+     * @param buffer The characters to write to.
+     * @param offset The index of the first character to write.
+     * @param value The positive number.
+     * @param digits The minimum number of digits.
+     * @return The index after the last written character.
+     */
+    static private int formatDigits(char[] buffer, int offset, int value, int digits) {
+        int length = Math.max(digits, (int) Math.log10(Math.max(value, 1)) + 1);
+
+        for (int i = offset + length - 1 ; i >= offset ; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
 
-        camera.drawTextFixed(g, (canvas.getWidth() - format.length() * 16) / 2 + 2, 22, format, 16, Color.black);
-        camera.drawTextFixed(g, (canvas.getWidth() - format.length() * 16) / 2, 20, format, 16, Color.white);
+        return offset + length;
     }
 }
@@ -0,0 +1,100 @@
+/**
+ * @brief This file contains the class HudLayer.
+ *
+ * @file HudLayer.java
+ * @author agent
+ * @date 17/10/2026
+ *
+ * Part of the `graphics` package.
+ * It contains a class that keeps the drawn HUD between frames.
+ */
+
+package graphics;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * @class HudLayer
+ * @author agent
+ * @date 17/10/2026
+ *
+ * @brief This class keeps the player HUD drawn into an image between frames.
+ *
+ * The player health, stats, experience and commands only change when the player is
+ * hit, heals, levels up or spends a skill point. They are drawn into a translucent
+ * image once, and the image is drawn on each frame. It is drawn again only when the
+ * player HUD revision, the commands visibility or the canvas size changes.
+ *
+ * The timer and the cooldown bar change every frame, they are not part of the layer.
+ *
+ * @warning This class is not thread safe, it should only be used by the thread that paints.
+ * @see character.Player#getHudRevision
+ */
+class HudLayer {
+    /** @brief The drawn HUD, null until first frame. */
+    private BufferedImage image;
+    /** @brief The HUD revision the image was drawn for. */
+    private int revision;
+    /** @brief Were commands drawn in the image ? */
+    private boolean showHelp;
+
+    /**
+     * @brief Draw the HUD, drawing the layer again first if it changed.
+     * @param g The Graphics object.
+     * @param camera The camera used to draw texts.
+     * @param canvas The canvas the HUD is drawn on.
+     * @param world The snapshot to draw.
+     */
+    void draw(Graphics g, Camera camera, Canvas canvas, WorldSnapshot world) {
+        if (image == null || image.getWidth() != canvas.getWidth() || image.getHeight() != canvas.getHeight()) {
+            if (image != null) {
+                image.flush();
+            }
+
+            image = Assets.createCompatibleImage(Math.max(1, canvas.getWidth()), Math.max(1, canvas.getHeight()), Transparency.TRANSLUCENT);
+            redraw(camera, canvas, world);
+        } else if (world.hudRevision != revision || world.showHelp != showHelp) {
+            redraw(camera, canvas, world);
+        }
+
+        g.drawImage(image, 0, 0, canvas);
+    }
+
+    /**
+     * @brief Clear the image and draw the HUD into it.
+     * @param camera The camera used to draw texts.
+     * @param canvas The canvas the HUD is drawn on.
+     * @param world The snapshot to draw.
+     */
+    private void redraw(Camera camera, Canvas canvas, WorldSnapshot world) {
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g.setComposite(AlphaComposite.SrcOver);
+
+        // LEFT HUD
+
+        HUD.drawPlayerHealth(g, camera, world);
+        HUD.drawStat(g, camera, world.getAttack(world.playerIndex), "Attack", 25, 65, 150, 50);
+        HUD.drawStat(g, camera, world.getDefence(world.playerIndex), "Defence", 25,85, 150, 70);
+        HUD.drawStat(g, camera, world.getSpeed(world.playerIndex), "Speed", 25, 105, 150, 90);
+
+        // RIGHT HUD
+
+        HUD.drawXP(g, camera, canvas, world);
+
+        // Bottom HUD
+        if (world.showHelp) {
+            HUD.drawCommands(g, camera, canvas);
+        }
+
+        g.dispose();
+
+        this.revision = world.hudRevision;
+        this.showHelp = world.showHelp;
+    }
+}
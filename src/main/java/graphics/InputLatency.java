@@ -0,0 +1,123 @@
+/**
+ * @brief This file contains the class InputLatency.
+ *
+ * @file InputLatency.java
+ * @author agent
+ * @date 17/10/2026
+ *
+ * Part of the `graphics` package.
+ * It contains a class that measures the time from an input to the frame showing it.
+ */
+
+package graphics;
+
+import java.util.Arrays;
+
+/**
+ * @class InputLatency
+ * @author agent
+ * @date 17/10/2026
+ *
+ * @brief This class measures the time from a key event to the frame that shows it.
+ *
+ * An input goes through three threads, each one passing it on with a queue :
+ * - The EDT timestamps each key event with @ref onInput.
+ * - The simulation thread calls @ref onTick when it reads the keys, tagging the
+ *   waiting inputs with the tick number.
+ * - The thread drawing frames calls @ref onPresent once a frame is drawn, with the
+ *   tick its snapshot was captured at. Every input of that tick or before is shown.
+ *
+ * The latencies are gathered for a second, then the median and 99th percentile are
+ * kept for the overlay. They are also logged when profiling is enabled, like :
+ * ```
+ * [input latency] 14 inputs, p50 9.12 ms, p99 17.80 ms, 0 dropped
+ * ```
+ *
+ * The frame is considered presented when it is drawn, the time taken by the
+ * windowing system to show it is not measured.
+ */
+class InputLatency {
+    /** @brief The maximum number of inputs waiting in each queue. */
+    static final int QUEUE_CAPACITY = 256;
+    /** @brief The maximum number of latencies gathered in a second. */
+    static final int WINDOW_CAPACITY = 1024;
+
+    /** @brief The inputs not read by a tick yet, tag unused. */
+    private final EventQueue inputs = new EventQueue(QUEUE_CAPACITY);
+    /** @brief The inputs read by a tick, tagged with the tick number. */
+    private final EventQueue consumed = new EventQueue(QUEUE_CAPACITY);
+
+    /** @brief The latencies of the current second, only used by the drawing thread. */
+    private final long[] window = new long[WINDOW_CAPACITY];
+    /** @brief The number of latencies in the current second. */
+    private int count;
+    /** @brief The start of the current second, in nanoseconds. */
+    private long windowStart = System.nanoTime();
+    /** @brief The summary of the last second, shown by the overlay. */
+    private volatile String summary = "input latency : no input";
+
+    /**
+     * @brief Timestamp a key event, from the EDT.
+     */
+    void onInput() {
+        inputs.offer(System.nanoTime(), 0);
+    }
+
+    /**
+     * @brief Tag the waiting inputs with the tick reading them, from the simulation thread.
+     * @param tick The tick number.
+     */
+    void onTick(long tick) {
+        while (!inputs.isEmpty()) {
+            consumed.offer(inputs.peekTime(), tick);
+            inputs.remove();
+        }
+    }
+
+    /**
+     * @brief Record the latency of the inputs shown by a frame, from the drawing thread.
+     * @param tick The tick the drawn snapshot was captured at.
+     */
+    void onPresent(long tick) {
+        long now = System.nanoTime();
+
+        while (!consumed.isEmpty() && consumed.peekTag() <= tick) {
+            if (count < WINDOW_CAPACITY) {
+                window[count++] = now - consumed.peekTime();
+            }
+            consumed.remove();
+        }
+
+        if (now - windowStart >= 1_000_000_000L) {
+            if (count > 0) {
+                Arrays.sort(window, 0, count);
+                summary = String.format("input latency : p50 %.1f ms, p99 %.1f ms", percentile(0.5) / 1e6, percentile(0.99) / 1e6);
+
+                if (FrameStats.isEnabled()) {
+                    System.out.printf("[input latency] %d inputs, p50 %.2f ms, p99 %.2f ms, %d dropped%n", count,
+                        percentile(0.5) / 1e6, percentile(0.99) / 1e6, inputs.getDropped() + consumed.getDropped());
+                }
+            }
+
+            count = 0;
+            windowStart = now;
+        }
+    }
+
+    /**
+     * @brief Get a percentile of the sorted latencies of the current second.
+     * @param rank The percentile, between 0 and 1.
+     * @return The latency in nanoseconds.
+     */
+    private long percentile(double rank) {
+        return window[Math.min(count - 1, (int) Math.ceil(rank * count) - 1)];
+    }
+
+    /**
+     * @brief Get the summary of the last second with inputs.
+     * @return A line showing the median and 99th percentile.
+     */
+    String getSummary() {
+        return summary;
+    }
+}
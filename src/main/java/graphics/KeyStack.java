@@ -11,8 +11,7 @@
 package graphics;
 
 import java.awt.event.ActionEvent;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import javax.swing.AbstractAction;
 import javax.swing.ActionMap;
@@ -27,14 +26,41 @@ import javax.swing.KeyStroke;
  * 
  * @brief This class allows to get multi-keypress.
  * 
+ * Keys are stored as bits indexed by their KeyEvent key code. The Swing actions set
+ * them on the EDT, atomically, so no lock is needed to read them from another thread.
+ * 
+ * The simulation calls @ref latch at the start of each tick. Until the next call,
+ * @ref isDown, @ref wasPressedThisTick and @ref wasReleasedThisTick answer from that
+ * latched state, so every check in a tick sees the same keys. A key pressed and
+ * released between two ticks is still seen as pressed and released.
+ * 
  * It should only be instancied once per Canvas.
  * 
  * @pre A Canvas object has to be created in order to bind it to the KeyStack.
  * @see graphics.Canvas
  */
 public class KeyStack {
-    /** @brief Storage for the key pressed */
-    private Set<String> allPressedKeys;
+    /** @brief The number of key codes that can be listened to, all KeyEvent.VK_ codes used are below. */
+    public static final int KEY_CODES = 256;
+    /** @brief The number of longs needed to store a bit per key code. */
+    private static final int WORDS = KEY_CODES / 64;
+
+    /** @brief The keys currently down, written by the EDT. */
+    private final AtomicLongArray down = new AtomicLongArray(WORDS);
+    /** @brief The keys pressed since the last latch, written by the EDT. */
+    private final AtomicLongArray pressed = new AtomicLongArray(WORDS);
+    /** @brief The keys released since the last latch, written by the EDT. */
+    private final AtomicLongArray released = new AtomicLongArray(WORDS);
+    /** @brief The keys down at the last latch, only used by the latching thread. */
+    private final long[] latchedDown = new long[WORDS];
+    /** @brief The keys pressed before the last latch, only used by the latching thread. */
+    private final long[] latchedPressed = new long[WORDS];
+    /** @brief The keys released before the last latch, only used by the latching thread. */
+    private final long[] latchedReleased = new long[WORDS];
+    /** @brief Measures the time from key events to the frames showing them. */
+    private final InputLatency latency = new InputLatency();
+    /** @brief The number of key presses and releases, see @ref awaitInput. */
+    private long inputCount;
     /**
      * @brief The InputMap of the Canvas object.
      * @see javax.swing.InputMap
@@ -54,7 +80,6 @@ public class KeyStack {
      * @param binding The Canvas that listen to key inputs
      */
     public KeyStack(Canvas binding) {
-        this.allPressedKeys = new HashSet<String>();
         this.inputs = binding.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
         this.actions = binding.getActionMap();
     }
@@ -71,20 +96,146 @@ public class KeyStack {
      * @see javax.swing.KeyStroke
      */
     public void listenTo(String key) {
-        inputs.put(KeyStroke.getKeyStroke("pressed " + key), "pressed" + key);
+        KeyStroke stroke = KeyStroke.getKeyStroke("pressed " + key);
+
+        if (stroke == null || stroke.getKeyCode() >= KEY_CODES) {
+            throw new IllegalArgumentException("Can't listen to key " + key);
+        }
+
+        inputs.put(stroke, "pressed" + key);
         inputs.put(KeyStroke.getKeyStroke("released " + key), "released" + key);
-        actions.put("pressed" + key, new AddKeyAction(key));
-        actions.put("released" + key, new RemoveKeyAction(key));
+        actions.put("pressed" + key, new AddKeyAction(stroke.getKeyCode()));
+        actions.put("released" + key, new RemoveKeyAction(stroke.getKeyCode()));
+    }
+
+    /**
+     * @brief Latch the keys for the current tick.
+     * 
+     * Must be called once at the start of each tick, from the thread reading keys.
+     */
+    public void latch() {
+        for (int i = 0 ; i < WORDS ; i++) {
+            latchedDown[i] = down.get(i);
+            latchedPressed[i] = pressed.getAndSet(i, 0);
+            latchedReleased[i] = released.getAndSet(i, 0);
+        }
+    }
+
+    /**
+     * @brief Get the input latency measures, fed with every key press and release.
+     * @return The input latency.
+     */
+    InputLatency getLatency() {
+        return latency;
+    }
+
+    /**
+     * @brief Check if a key was down when latched.
+     * @note Returns false if key is not listened to.
+     * @param keyCode The KeyEvent key code.
+     * @return true if the key is down.
+     */
+    public boolean isDown(int keyCode) {
+        return isSet(latchedDown, keyCode);
+    }
+
+    /**
+     * @brief Check if a key was pressed since the previous latch.
+     * 
+     * Held keys only count once, when first pressed.
+     * 
+     * @param keyCode The KeyEvent key code.
+     * @return true if the key was pressed.
+     */
+    public boolean wasPressedThisTick(int keyCode) {
+        return isSet(latchedPressed, keyCode);
+    }
+
+    /**
+     * @brief Check if a key was released since the previous latch.
+     * @param keyCode The KeyEvent key code.
+     * @return true if the key was released.
+     */
+    public boolean wasReleasedThisTick(int keyCode) {
+        return isSet(latchedReleased, keyCode);
+    }
+
+    /**
+     * @brief Check the bit of a key code.
+     * @param bits The bits.
+     * @param keyCode The key code.
+     * @return true if the bit is set.
+     */
+    private static boolean isSet(long[] bits, int keyCode) {
+        return keyCode >= 0 && keyCode < KEY_CODES && (bits[keyCode >>> 6] & (1L << (keyCode & 63))) != 0;
+    }
+
+    /**
+     * @brief Set the bit of a key code.
+     * @param bits The bits.
+     * @param keyCode The key code.
+     * @return true if the bit was not set before.
+     */
+    private static boolean set(AtomicLongArray bits, int keyCode) {
+        int i = keyCode >>> 6;
+        long mask = 1L << (keyCode & 63);
+        long previous;
+
+        do {
+            previous = bits.get(i);
+        } while (!bits.compareAndSet(i, previous, previous | mask));
+
+        return (previous & mask) == 0;
+    }
+
+    /**
+     * @brief Clear the bit of a key code.
+     * @param bits The bits.
+     * @param keyCode The key code.
+     * @return true if the bit was set before.
+     */
+    private static boolean clear(AtomicLongArray bits, int keyCode) {
+        int i = keyCode >>> 6;
+        long mask = 1L << (keyCode & 63);
+        long previous;
+
+        do {
+            previous = bits.get(i);
+        } while (!bits.compareAndSet(i, previous, previous & ~mask));
+
+        return (previous & mask) != 0;
+    }
+
+    /**
+     * @brief Get the number of key presses and releases so far.
+     * @return The input count, to give to @ref awaitInput.
+     */
+    public synchronized long getInputCount() {
+        return inputCount;
+    }
+
+    /**
+     * @brief Wait for a key to be pressed or released.
+     * 
+     * Returns at once if an input happened since the count was read, so no input is
+     * missed between reading the keys and waiting.
+     * 
+     * @param since The input count read with @ref getInputCount.
+     * @param timeout The maximum time to wait in milliseconds, 0 to wait forever.
+     * @throws InterruptedException If the waiting thread is interrupted.
+     */
+    public synchronized void awaitInput(long since, long timeout) throws InterruptedException {
+        if (inputCount == since) {
+            wait(timeout);
+        }
     }
 
     /**
-     * @brief Check if a key is pressed.
-     * @note Returns false if key is not listenable.
-     * @param key The string representation of the key
-     * @return A boolean equals to true if the key is pressed
+     * @brief Count an input and wake the threads waiting for one.
      */
-    public boolean isPressed(String key) {
-        return allPressedKeys.contains(key);
+    private synchronized void notifyInput() {
+        inputCount++;
+        notifyAll();
     }
 
     /**
@@ -100,15 +251,15 @@ public class KeyStack {
      * @see javax.swing.AbstractAction
      */
     private class AddKeyAction extends AbstractAction {
-        /** @brief The key to listen to. */
-        private String key;
+        /** @brief The key code to listen to. */
+        private int keyCode;
 
         /**
          * @brief Constructor for AddKeyAction.
-         * @param key The key to listen to.
+         * @param keyCode The key code to listen to.
          */
-        public AddKeyAction(String key) {
-            this.key = key;
+        public AddKeyAction(int keyCode) {
+            this.keyCode = keyCode;
         }
 
         /**
@@ -118,7 +269,12 @@ public class KeyStack {
          */
         @Override
         public void actionPerformed(ActionEvent e) {
-            allPressedKeys.add(this.key);
+            // Auto-repeat sends presses while the key is held, only the first one counts
+            if (set(down, this.keyCode)) {
+                set(pressed, this.keyCode);
+            }
+            latency.onInput();
+            notifyInput();
         }
     }
 
@@ -135,15 +291,15 @@ public class KeyStack {
      * @see javax.swing.AbstractAction
      */
     private class RemoveKeyAction extends AbstractAction {
-        /** @brief The key to listen to. */
-        private String key;
+        /** @brief The key code to listen to. */
+        private int keyCode;
 
         /**
          * @brief Constructor for RemoveKeyAction.
-         * @param key The key to listen to.
+         * @param keyCode The key code to listen to.
          */
-        public RemoveKeyAction(String key) {
-            this.key = key;
+        public RemoveKeyAction(int keyCode) {
+            this.keyCode = keyCode;
         }
 
         /**
@@ -153,7 +309,11 @@ public class KeyStack {
          */
         @Override
         public void actionPerformed(ActionEvent e) {
-            allPressedKeys.remove(this.key);
+            if (clear(down, this.keyCode)) {
+                set(released, this.keyCode);
+            }
+            latency.onInput();
+            notifyInput();
         }
     }
 }
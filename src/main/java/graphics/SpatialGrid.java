@@ -0,0 +1,203 @@
+/**
+ * @brief This file contains the public class SpatialGrid.
+ *
+ * @file SpatialGrid.java
+ * @author agent
+ * @date 17/10/2026
+ *
+ * Part of the `graphics` package. It contains a class that finds entities near a point quickly.
+ */
+
+package graphics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import character.Entity;
+
+/**
+ * @class SpatialGrid
+ * @author agent
+ * @date 17/10/2026
+ *
+ * @brief This class sorts entities into a uniform grid of square cells.
+ *
+ * Each entity is stored in the cell containing its position, the top left corner of
+ * its hitbox. As cells are at least as big as hitboxes, an entity overlapping a
+ * rectangle can only be in the cells covering this rectangle or the ones just before.
+ * This way, collisions only test nearby entities instead of all of them.
+ *
+ * Entities must be added when spawned, removed when dead, and updated when they move,
+ * which Entity.move does.
+ *
+ * @warning It must only be used by the simulation thread.
+ */
+public class SpatialGrid {
+    /** @brief The cell size, bigger than any hitbox. */
+    public static final int CELL_SIZE = 128;
+
+    /** @brief The number of columns. */
+    private int columns;
+    /** @brief The number of rows. */
+    private int rows;
+    /** @brief The entities in each cell. */
+    private ArrayList<ArrayList<Entity>> cells;
+    /** @brief The number of entities. */
+    private int size;
+
+    /**
+     * @brief Create an empty grid covering the given area.
+     *
+     * Entities out of the area are stored in the nearest border cell.
+     *
+     * @param width The area width, in absolute coordinates.
+     * @param height The area height, in absolute coordinates.
+     */
+    public SpatialGrid(int width, int height) {
+        this.columns = Math.max(1, (width + CELL_SIZE - 1) / CELL_SIZE);
+        this.rows = Math.max(1, (height + CELL_SIZE - 1) / CELL_SIZE);
+        this.cells = new ArrayList<>(columns * rows);
+
+        for (int i = 0 ; i < columns * rows ; i++) {
+            this.cells.add(new ArrayList<>(4));
+        }
+    }
+
+    /**
+     * @brief Get the column containing a x coordinate.
+     * @param x The x coordinate.
+     * @return The column, clamped to the grid.
+     */
+    private int getColumn(double x) {
+        return Math.min(Math.max((int) Math.floor(x / CELL_SIZE), 0), columns - 1);
+    }
+
+    /**
+     * @brief Get the row containing a y coordinate.
+     * @param y The y coordinate.
+     * @return The row, clamped to the grid.
+     */
+    private int getRow(double y) {
+        return Math.min(Math.max((int) Math.floor(y / CELL_SIZE), 0), rows - 1);
+    }
+
+    /**
+     * @brief Get the cell containing the entity position.
+     * @param entity The entity.
+     * @return The cell index.
+     */
+    private int getCell(Entity entity) {
+        return getRow(entity.getPosition().y) * columns + getColumn(entity.getPosition().x);
+    }
+
+    /**
+     * @brief Add an entity to the grid.
+     * @param entity The entity.
+     */
+    public void add(Entity entity) {
+        if (entity.getGridCell() >= 0) {
+            return;
+        }
+
+        int cell = getCell(entity);
+        cells.get(cell).add(entity);
+        entity.setGridCell(cell);
+        size++;
+    }
+
+    /**
+     * @brief Remove an entity from the grid.
+     * @param entity The entity.
+     */
+    public void remove(Entity entity) {
+        int cell = entity.getGridCell();
+
+        if (cell < 0 || cell >= cells.size() || !cells.get(cell).remove(entity)) {
+            return;
+        }
+
+        entity.setGridCell(-1);
+        size--;
+    }
+
+    /**
+     * @brief Move an entity to the cell of its new position.
+     *
+     * Nothing is done if the entity is not in the grid or didn't change cell.
+     *
+     * @param entity The entity that moved.
+     */
+    public void update(Entity entity) {
+        int previous = entity.getGridCell();
+
+        if (previous < 0) {
+            return;
+        }
+
+        int cell = getCell(entity);
+
+        if (cell != previous) {
+            cells.get(previous).remove(entity);
+            cells.get(cell).add(entity);
+            entity.setGridCell(cell);
+        }
+    }
+
+    /**
+     * @brief Remove all entities.
+     */
+    public void clear() {
+        for (ArrayList<Entity> cell : cells) {
+            for (Entity entity : cell) {
+                entity.setGridCell(-1);
+            }
+
+            cell.clear();
+        }
+
+        size = 0;
+    }
+
+    /**
+     * @brief Get the number of entities in the grid.
+     * @return The number of entities.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @brief Find all entities that may overlap a rectangle.
+     *
+     * The result can contain entities that don't overlap it, but contains all that do
+     * as long as their hitbox is smaller than a cell.
+     *
+     * @param x The rectangle left side.
+     * @param y The rectangle top side.
+     * @param width The rectangle width.
+     * @param height The rectangle height.
+     * @param result The list to fill, cleared first so it can be reused.
+     * @return The result list.
+     */
+    public List<Entity> query(double x, double y, double width, double height, List<Entity> result) {
+        result.clear();
+
+        int minColumn = getColumn(x - CELL_SIZE);
+        int maxColumn = getColumn(x + width);
+        int minRow = getRow(y - CELL_SIZE);
+        int maxRow = getRow(y + height);
+
+        for (int row = minRow ; row <= maxRow ; row++) {
+            for (int column = minColumn ; column <= maxColumn ; column++) {
+                ArrayList<Entity> cell = cells.get(row * columns + column);
+
+                // addAll would copy the cell into a temporary array
+                for (int i = 0 ; i < cell.size() ; i++) {
+                    result.add(cell.get(i));
+                }
+            }
+        }
+
+        return result;
+    }
+}
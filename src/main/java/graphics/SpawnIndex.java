@@ -0,0 +1,266 @@
+/**
+ * @brief This file contains the public class SpawnIndex.
+ *
+ * @file SpawnIndex.java
+ * @author agent
+ * @date 17/10/2026
+ *
+ * Part of the `graphics` package. It contains a class that finds the spawn points around the player quickly.
+ */
+
+package graphics;
+
+/**
+ * @class SpawnIndex
+ * @author agent
+ * @date 17/10/2026
+ *
+ * @brief This class sorts spawn points into a uniform grid and raises spawn events.
+ *
+ * A spawn point spawns when it enters the screen around the player, unless it
+ * already spawned less than @ref COOLDOWN milliseconds ago. It must leave the screen before
+ * it can spawn again.
+ *
+ * The points that may be on screen while the player stays in its cell are gathered
+ * when the player enters a new cell, and only those are tested on each tick. The
+ * other points are out of screen, so the cost of a tick doesn't grow with the number
+ * of spawn points on the map. Cooldowns are stored as the TimingWheel tick they end
+ * at, so nothing has to be updated for the points far from the player.
+ *
+ * @warning It must only be used by the simulation thread, after advancing the wheel.
+ * @see character.Enemies
+ * @see graphics.TimingWheel
+ */
+public class SpawnIndex {
+    /** @brief The cell size, in absolute coordinates. */
+    public static final int CELL_SIZE = 512;
+    /** @brief The game time before a spawn point can spawn again, in milliseconds. */
+    public static final int COOLDOWN = 20000;
+
+    /**
+     * @interface Listener
+     * @brief Called when a spawn point spawns.
+     */
+    public interface Listener {
+        /**
+         * @brief Spawn the enemy of a spawn point.
+         * @param point The spawn point index.
+         */
+        void spawn(int point);
+    }
+
+    /** @brief The spawn points, as {x, y, zone}. */
+    private int[][] points;
+    /** @brief The number of columns. */
+    private int columns;
+    /** @brief The number of rows. */
+    private int rows;
+    /** @brief The index in @ref cellPoints of the first point of each cell, and the end as last element. */
+    private int[] cellStart;
+    /** @brief The spawn points sorted by cell. */
+    private int[] cellPoints;
+
+    /** @brief The tick at which each point can spawn again. */
+    private long[] readyAt;
+    /** @brief Did each point spawn since it entered the screen ? */
+    private boolean[] spawned;
+    /** @brief The points that may be on screen. */
+    private int[] candidates;
+    /** @brief The number of candidates. */
+    private int candidateCount;
+    /** @brief The candidates of the previous cell, reused as next candidates. */
+    private int[] previous;
+    /** @brief The refresh at which each point was last made a candidate. */
+    private int[] candidateStamp;
+    /** @brief The number of refreshes. */
+    private int stamp;
+
+    /** @brief The column of the player at the last refresh. */
+    private int playerColumn;
+    /** @brief The row of the player at the last refresh. */
+    private int playerRow;
+    /** @brief The screen width at the last refresh. */
+    private int width;
+    /** @brief The screen height at the last refresh. */
+    private int height;
+    /** @brief Must candidates be gathered again on next tick ? */
+    private boolean dirty;
+
+    /**
+     * @brief Create an index of spawn points covering the given area.
+     *
+     * Points out of the area are stored in the nearest border cell.
+     *
+     * @param points The spawn points, as {x, y, zone}.
+     * @param width The area width, in absolute coordinates.
+     * @param height The area height, in absolute coordinates.
+     */
+    public SpawnIndex(int[][] points, int width, int height) {
+        this.points = points;
+        this.columns = Math.max(1, (width + CELL_SIZE - 1) / CELL_SIZE);
+        this.rows = Math.max(1, (height + CELL_SIZE - 1) / CELL_SIZE);
+
+        // Counting sort of the points by cell
+        this.cellStart = new int[columns * rows + 1];
+        this.cellPoints = new int[points.length];
+
+        for (int i = 0 ; i < points.length ; i++) {
+            cellStart[getCell(i) + 1]++;
+        }
+
+        for (int i = 0 ; i < columns * rows ; i++) {
+            cellStart[i + 1] += cellStart[i];
+        }
+
+        int[] next = new int[columns * rows];
+
+        for (int i = 0 ; i < points.length ; i++) {
+            int cell = getCell(i);
+            cellPoints[cellStart[cell] + next[cell]++] = i;
+        }
+
+        this.readyAt = new long[points.length];
+        this.spawned = new boolean[points.length];
+        this.candidates = new int[points.length];
+        this.previous = new int[points.length];
+        this.candidateStamp = new int[points.length];
+
+        clear();
+    }
+
+    /**
+     * @brief Get the cell containing a spawn point.
+     * @param point The spawn point index.
+     * @return The cell index.
+     */
+    private int getCell(int point) {
+        return clampRow(Math.floorDiv(points[point][1], CELL_SIZE)) * columns + clampColumn(Math.floorDiv(points[point][0], CELL_SIZE));
+    }
+
+    /**
+     * @brief Clamp a column to the grid.
+     * @param column The column.
+     * @return The clamped column.
+     */
+    private int clampColumn(int column) {
+        return Math.min(Math.max(column, 0), columns - 1);
+    }
+
+    /**
+     * @brief Clamp a row to the grid.
+     * @param row The row.
+     * @return The clamped row.
+     */
+    private int clampRow(int row) {
+        return Math.min(Math.max(row, 0), rows - 1);
+    }
+
+    /**
+     * @brief Make all points ready to spawn, as when the game starts.
+     */
+    public void reset() {
+        clear();
+    }
+
+    /**
+     * @brief Make all points ready to spawn, also used by the constructor.
+     */
+    private void clear() {
+        for (int i = 0 ; i < points.length ; i++) {
+            readyAt[i] = 0;
+            spawned[i] = false;
+        }
+
+        candidateCount = 0;
+        dirty = true;
+    }
+
+    /**
+     * @brief Run a tick, spawning the points that entered the screen.
+     *
+     * A point is on screen when it is less than half the screen size away from the
+     * player on both axes.
+     *
+     * @param x The player x coordinate.
+     * @param y The player y coordinate.
+     * @param width The screen width, in absolute coordinates.
+     * @param height The screen height, in absolute coordinates.
+     * @param listener Called for each point that spawns.
+     */
+    public void update(int x, int y, int width, int height, Listener listener) {
+        long tick = TimingWheel.get().getTick();
+        long cooldown = TimingWheel.get().ticks(COOLDOWN);
+        int column = Math.floorDiv(x, CELL_SIZE);
+        int row = Math.floorDiv(y, CELL_SIZE);
+
+        if (dirty || column != playerColumn || row != playerRow || width != this.width || height != this.height) {
+            refresh(column, row, width, height);
+        }
+
+        for (int i = 0 ; i < candidateCount ; i++) {
+            int point = candidates[i];
+            int dx = points[point][0] - x;
+            int dy = points[point][1] - y;
+
+            if (dx * dx < width * width / 4 && dy * dy < height * height / 4) {
+                if (!spawned[point] && readyAt[point] <= tick) {
+                    spawned[point] = true;
+                    readyAt[point] = tick + cooldown;
+                    listener.spawn(point);
+                }
+            } else {
+                spawned[point] = false;
+            }
+        }
+    }
+
+    /**
+     * @brief Gather the points that may be on screen while the player is in the given cell.
+     *
+     * The points that are no longer candidates are off screen, so they can spawn
+     * again once their cooldown ends.
+     *
+     * @param column The player column, not clamped.
+     * @param row The player row, not clamped.
+     * @param width The screen width.
+     * @param height The screen height.
+     */
+    private void refresh(int column, int row, int width, int height) {
+        int[] old = candidates;
+        int oldCount = candidateCount;
+
+        candidates = previous;
+        previous = old;
+        candidateCount = 0;
+        stamp++;
+
+        // A point is on screen if at most half the screen size plus one away from the player
+        int minColumn = clampColumn(Math.floorDiv(column * CELL_SIZE - width / 2 - 1, CELL_SIZE));
+        int maxColumn = clampColumn(Math.floorDiv((column + 1) * CELL_SIZE + width / 2, CELL_SIZE));
+        int minRow = clampRow(Math.floorDiv(row * CELL_SIZE - height / 2 - 1, CELL_SIZE));
+        int maxRow = clampRow(Math.floorDiv((row + 1) * CELL_SIZE + height / 2, CELL_SIZE));
+
+        for (int r = minRow ; r <= maxRow ; r++) {
+            for (int c = minColumn ; c <= maxColumn ; c++) {
+                int cell = r * columns + c;
+
+                for (int i = cellStart[cell] ; i < cellStart[cell + 1] ; i++) {
+                    candidateStamp[cellPoints[i]] = stamp;
+                    candidates[candidateCount++] = cellPoints[i];
+                }
+            }
+        }
+
+        for (int i = 0 ; i < oldCount ; i++) {
+            if (candidateStamp[old[i]] != stamp) {
+                spawned[old[i]] = false;
+            }
+        }
+
+        this.playerColumn = column;
+        this.playerRow = row;
+        this.width = width;
+        this.height = height;
+        this.dirty = false;
+    }
+}
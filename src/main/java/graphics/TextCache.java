@@ -0,0 +1,206 @@
+/**
+ * @brief This file contains the class TextCache.
+ *
+ * @file TextCache.java
+ * @author agent
+ * @date 17/10/2026
+ *
+ * Part of the `graphics` package.
+ * It contains a class that keeps fonts and rendered texts.
+ */
+
+package graphics;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+
+/**
+ * @class TextCache
+ * @author agent
+ * @date 17/10/2026
+ *
+ * @brief This class keeps derived fonts and rendered texts.
+ *
+ * Deriving a font and laying out a text are both slow compared to drawing an image.
+ * Fonts are derived once per size, and texts are rendered once into an image keyed
+ * by their string, size and color. The least recently drawn images are dropped when
+ * more than @ref CAPACITY are kept.
+ *
+ * It is meant for texts that rarely change, like labels and stats. Texts changing
+ * every frame would only fill the cache, they should be drawn with a cached font.
+ *
+ * @warning This class is not thread safe, it should only be used by the thread that paints.
+ * @see graphics.Camera
+ */
+class TextCache {
+    /** @brief The maximum number of rendered texts kept in memory. */
+    static final int CAPACITY = 256;
+
+    /**
+     * @class Key
+     * @brief The key of a rendered text.
+     */
+    private static final class Key {
+        /** @brief The text. */
+        String text;
+        /** @brief The font size. */
+        int size;
+        /** @brief The text color. */
+        Color color;
+
+        /**
+         * @brief Change the key.
+         * @param text The text.
+         * @param size The font size.
+         * @param color The text color.
+         * @return This key.
+         */
+        Key set(String text, int size, Color color) {
+            this.text = text;
+            this.size = size;
+            this.color = color;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) other;
+            return size == key.size && text.equals(key.text) && color.equals(key.color);
+        }
+
+        @Override
+        public int hashCode() {
+            return (text.hashCode() * 31 + size) * 31 + color.hashCode();
+        }
+    }
+
+    /** @brief The font all sizes are derived from. */
+    private Font font;
+    /** @brief The derived fonts, keyed by size. */
+    private HashMap<Integer, Font> fonts;
+    /** @brief The metrics of the derived fonts, keyed by size. */
+    private HashMap<Integer, FontMetrics> metrics;
+    /** @brief The rendered texts, ordered by access so the eldest entry is the least recently drawn. */
+    private LinkedHashMap<Key, BufferedImage> texts;
+    /** @brief Reused key to look texts up without allocating one. */
+    private Key lookup;
+
+    /**
+     * @brief Creates an empty cache.
+     * @param font The font all sizes are derived from.
+     */
+    TextCache(Font font) {
+        this.font = font;
+        this.fonts = new HashMap<>();
+        this.metrics = new HashMap<>();
+        this.lookup = new Key();
+        this.texts = new LinkedHashMap<Key, BufferedImage>(CAPACITY, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(java.util.Map.Entry<Key, BufferedImage> eldest) {
+                if (size() > CAPACITY) {
+                    eldest.getValue().flush();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @brief Get the font with the given size.
+     * @param size The font size.
+     * @return The derived font.
+     */
+    Font getFont(int size) {
+        Font derived = fonts.get(size);
+
+        if (derived == null) {
+            derived = font.deriveFont((float) size);
+            fonts.put(size, derived);
+        }
+
+        return derived;
+    }
+
+    /**
+     * @brief Get the image of a text.
+     *
+     * The image top is at the font ascent above the baseline, so it must be drawn
+     * at `y - getAscent(size)` to match Graphics.drawString.
+     *
+     * @param text The text.
+     * @param size The font size.
+     * @param color The text color.
+     * @return The rendered text.
+     */
+    BufferedImage getText(String text, int size, Color color) {
+        BufferedImage image = texts.get(lookup.set(text, size, color));
+
+        if (image == null) {
+            image = render(text, size, color);
+            texts.put(new Key().set(text, size, color), image);
+        }
+
+        return image;
+    }
+
+    /**
+     * @brief Get the ascent of the font with the given size.
+     * @param size The font size.
+     * @return The distance from the top of a rendered text to its baseline.
+     */
+    int getAscent(int size) {
+        return getMetrics(size).getAscent();
+    }
+
+    /**
+     * @brief Get the metrics of the font with the given size.
+     * @param size The font size.
+     * @return The font metrics.
+     */
+    private FontMetrics getMetrics(int size) {
+        FontMetrics sizeMetrics = metrics.get(size);
+
+        if (sizeMetrics == null) {
+            BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = scratch.createGraphics();
+            sizeMetrics = g.getFontMetrics(getFont(size));
+            g.dispose();
+            metrics.put(size, sizeMetrics);
+        }
+
+        return sizeMetrics;
+    }
+
+    /**
+     * @brief Render a text into a new image.
+     * @param text The text.
+     * @param size The font size.
+     * @param color The text color.
+     * @return The rendered text.
+     */
+    private BufferedImage render(String text, int size, Color color) {
+        FontMetrics sizeMetrics = getMetrics(size);
+        int width = Math.max(1, sizeMetrics.stringWidth(text));
+        int height = Math.max(1, sizeMetrics.getAscent() + sizeMetrics.getDescent());
+
+        BufferedImage image = Assets.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        Graphics2D g = image.createGraphics();
+        g.setFont(getFont(size));
+        g.setColor(color);
+        g.drawString(text, 0, sizeMetrics.getAscent());
+        g.dispose();
+
+        return image;
+    }
+}
@@ -0,0 +1,220 @@
+/**
+ * @brief This file contains the public class TimingWheel.
+ *
+ * @file TimingWheel.java
+ * @author agent
+ * @date 17/10/2026
+ *
+ * Part of the `graphics` package. It contains a class that runs actions after a number of game ticks.
+ */
+
+package graphics;
+
+/**
+ * @class TimingWheel
+ * @author agent
+ * @date 17/10/2026
+ *
+ * @brief This class runs timers after a number of game ticks.
+ *
+ * Timers are hashed by the tick they end at into a ring of @ref SLOTS lists. Each
+ * tick only looks at the list of the current slot, which holds the timers ending
+ * now and the few ending a whole turn of the ring later. This way, a tick costs the
+ * number of timers ending instead of the number of timers pending.
+ *
+ * Scheduling and cancelling a timer are constant time and allocate nothing, as
+ * timers are linked through their own fields. A timer can be scheduled again from
+ * its own action.
+ *
+ * There is one wheel for the game, see @ref get. It only advances while the game
+ * runs, so timers stop during pauses. Its tick duration is the one of the game
+ * loop, see @ref setStep, so durations given in milliseconds through @ref ticks
+ * don't depend on the tick rate.
+ *
+ * @warning It must only be used by the simulation thread.
+ */
+public class TimingWheel {
+    /** @brief The number of slots, a power of 2 covering a bit more than 2 seconds of ticks at the default rate. */
+    public static final int SLOTS = 512;
+
+    /** @brief The game wheel. */
+    private static final TimingWheel game = new TimingWheel();
+
+    /**
+     * @class Timer
+     * @brief An action to run once, after a number of ticks.
+     */
+    public static final class Timer {
+        /** @brief The action to run. */
+        private final Runnable action;
+        /** @brief The wheel the timer is pending in, null if not pending. */
+        private TimingWheel wheel;
+        /** @brief The tick at which the timer ends. */
+        private long deadline;
+        /** @brief The number of ticks it was scheduled for. */
+        private long duration;
+        /** @brief The previous timer in the slot. */
+        private Timer previous;
+        /** @brief The next timer in the slot. */
+        private Timer next;
+
+        /**
+         * @brief Create a timer, not scheduled yet.
+         * @param action The action to run when the timer ends.
+         */
+        public Timer(Runnable action) {
+            this.action = action;
+        }
+
+        /**
+         * @brief Tell if the timer is scheduled and has not ended yet.
+         * @return true if pending.
+         */
+        public boolean isPending() {
+            return wheel != null;
+        }
+
+        /**
+         * @brief Get the progress of the timer.
+         * @return A value between 0 and 1, 0 if not pending.
+         */
+        public double getProgress() {
+            if (wheel == null) {
+                return 0;
+            }
+
+            return 1d - 1d * (deadline - wheel.tick) / duration;
+        }
+
+        /**
+         * @brief Stop the timer without running its action.
+         */
+        public void cancel() {
+            if (wheel != null) {
+                wheel.unlink(this);
+            }
+        }
+    }
+
+    /** @brief The first timer of each slot. */
+    private final Timer[] slots = new Timer[SLOTS];
+    /** @brief The number of ticks run. */
+    private long tick;
+    /** @brief The duration of a tick, in nanoseconds. */
+    private long step = 1_000_000_000L / TrueTimer.DEFAULT_TICK_RATE;
+
+    /**
+     * @brief Get the game wheel.
+     * @return The wheel advanced by each running game tick.
+     */
+    public static TimingWheel get() {
+        return game;
+    }
+
+    /**
+     * @brief Set the duration of a tick, to match the loop advancing the wheel.
+     * @param step The duration in nanoseconds, see TrueTimer.getStep.
+     */
+    public void setStep(long step) {
+        this.step = Math.max(1, step);
+    }
+
+    /**
+     * @brief Convert a game time to ticks.
+     * @param millis The time in milliseconds.
+     * @return The number of ticks, rounded up.
+     */
+    public long ticks(long millis) {
+        return (millis * 1_000_000L + step - 1) / step;
+    }
+
+    /**
+     * @brief Get the number of ticks run.
+     * @return The current tick.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @brief Schedule a timer, replacing its previous schedule if pending.
+     * @param timer The timer.
+     * @param delay The number of ticks before it ends, at least 1.
+     */
+    public void schedule(Timer timer, long delay) {
+        timer.cancel();
+
+        timer.duration = Math.max(1, delay);
+        timer.deadline = tick + timer.duration;
+        timer.wheel = this;
+
+        int slot = (int) (timer.deadline & (SLOTS - 1));
+        timer.previous = null;
+        timer.next = slots[slot];
+
+        if (slots[slot] != null) {
+            slots[slot].previous = timer;
+        }
+
+        slots[slot] = timer;
+    }
+
+    /**
+     * @brief Remove a pending timer from its slot.
+     * @param timer The timer.
+     */
+    private void unlink(Timer timer) {
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        } else {
+            slots[(int) (timer.deadline & (SLOTS - 1))] = timer.next;
+        }
+
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+
+        timer.previous = null;
+        timer.next = null;
+        timer.wheel = null;
+    }
+
+    /**
+     * @brief Run a tick, running the actions of the timers ending now.
+     */
+    public void advance() {
+        tick++;
+
+        int slot = (int) (tick & (SLOTS - 1));
+        Timer timer = slots[slot];
+
+        while (timer != null) {
+            Timer next = timer.next;
+
+            if (timer.deadline <= tick) {
+                unlink(timer);
+                timer.action.run();
+
+                // The action may have cancelled or moved the next timer
+                if (next != null && (next.wheel != this || (next.deadline & (SLOTS - 1)) != slot)) {
+                    next = slots[slot];
+                }
+            }
+
+            timer = next;
+        }
+    }
+
+    /**
+     * @brief Cancel all timers and start again from tick 0.
+     */
+    public void clear() {
+        for (int i = 0 ; i < SLOTS ; i++) {
+            while (slots[i] != null) {
+                unlink(slots[i]);
+            }
+        }
+
+        tick = 0;
+    }
+}
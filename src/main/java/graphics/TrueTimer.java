@@ -10,6 +10,7 @@
 
 package graphics;
 
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 
 import javax.swing.SwingWorker;
@@ -19,7 +20,21 @@ import javax.swing.SwingWorker;
  * @author Kevin Fedyna
  * @date 10/01/2024
  * 
- * @brief This class allow to generate .
+ * @brief This class runs the game loop with a fixed timestep.
+ * 
+ * The action is called exactly tickRate times per second of real time, whatever it
+ * costs, so the game speed doesn't depend on the machine. Real time is accumulated
+ * and consumed in steps of 1/tickRate second. If the machine is too slow, at most
+ * maxSteps actions are run before rendering and the late time is dropped, so the game
+ * slows down instead of freezing.
+ * 
+ * The render callback is called once per loop iteration in which the simulation
+ * advanced. @ref getTickTime tells which real time the current tick stands for, so
+ * that a frame can compute how far it is between the last two ticks when it is drawn.
+ * 
+ * When an idle check is set with @ref setIdle and it is true after rendering, the
+ * loop stops ticking and waits for something to change instead. The waited time is
+ * dropped, so it is not caught up afterwards.
  * 
  * It should only be instancied once.
  * 
@@ -27,31 +42,138 @@ import javax.swing.SwingWorker;
  * @see javax.swing.JFrame
  */
 public class TrueTimer extends SwingWorker<Void, Void> {
+    /** @brief The default number of simulation ticks per second. */
+    public static final int DEFAULT_TICK_RATE = 250;
+    /** @brief The default maximum number of ticks run to catch up before rendering. */
+    public static final int DEFAULT_MAX_STEPS = 5;
+
     /** @brief The action to execute */
     private Function<Void, Void> action;
-    /** @brief The delay between each actions */
-    private int delay;
+    /** @brief The render request, called after the simulation advanced */
+    private Runnable render;
+    /** @brief The duration of a tick, in nanoseconds */
+    private long step;
+    /** @brief The maximum number of ticks before rendering */
+    private int maxSteps;
+    /** @brief The real time the current tick stands for, only used by the loop thread */
+    private long tickTime = System.nanoTime();
+    /** @brief Tells if nothing changes until an input, can be null */
+    private BooleanSupplier isIdle;
+    /** @brief Blocks until something may have changed */
+    private IdleWait idleWait;
+
+    /**
+     * @interface IdleWait
+     * @brief Blocks the loop while it is idle.
+     */
+    @FunctionalInterface
+    public interface IdleWait {
+        /**
+         * @brief Wait until something may have changed.
+         * @throws InterruptedException If the loop is cancelled while waiting.
+         */
+        void await() throws InterruptedException;
+    }
+
+    /**
+     * @brief Creates a new True Timer with the default tick rate and catch-up.
+     * @param action The simulation tick to perform
+     * @param render The render request
+     */
+    public TrueTimer(Function<Void, Void> action, Runnable render) {
+        this(DEFAULT_TICK_RATE, DEFAULT_MAX_STEPS, action, render);
+    }
 
     /**
      * @brief Creates a new True Timer
-     * @param delay The delay between each actions is milliseconds
-     * @param action The action to perform
+     * @param tickRate The number of simulation ticks per second
+     * @param maxSteps The maximum number of ticks run to catch up before rendering
+     * @param action The simulation tick to perform
+     * @param render The render request
      */
-    public TrueTimer(int delay, Function<Void, Void> action) {
+    public TrueTimer(int tickRate, int maxSteps, Function<Void, Void> action, Runnable render) {
         this.action = action;
-        this.delay = delay;
+        this.render = render;
+        this.step = 1_000_000_000L / Math.max(1, tickRate);
+        this.maxSteps = Math.max(1, maxSteps);
+    }
+
+    /**
+     * @brief Let the loop wait instead of ticking while nothing changes.
+     * 
+     * Both are called from the loop thread, after rendering.
+     * 
+     * @param isIdle Tells if ticking would change nothing until an input.
+     * @param idleWait Blocks until an input or anything else to draw.
+     */
+    public void setIdle(BooleanSupplier isIdle, IdleWait idleWait) {
+        this.isIdle = isIdle;
+        this.idleWait = idleWait;
+    }
+
+    /**
+     * @brief Get the duration of a simulation tick.
+     * @return The duration in nanoseconds.
+     */
+    public long getStep() {
+        return this.step;
     }
 
+    /**
+     * @brief Get the real time the current simulation tick stands for.
+     * 
+     * It is when the tick was due, not when it ran. Publish it with the state of the
+     * tick, so that frames interpolate with the time they are drawn at.
+     * 
+     * @return The System.nanoTime of the tick.
+     * @warning It must be called from the action, on the loop thread.
+     */
+    public long getTickTime() {
+        return this.tickTime;
+    }
 
     @Override
     protected Void doInBackground() throws Exception {
-        
+        long previous = System.nanoTime();
+        long accumulator = 0;
+
         while (!isCancelled()) {
-            action.apply(null);
+            long now = System.nanoTime();
+            accumulator += now - previous;
+            previous = now;
+
+            // Run as many fixed ticks as the elapsed time asks for, up to the cap
+            int steps = 0;
+            while (accumulator >= step && steps < maxSteps) {
+                tickTime = now - (accumulator - step);
+                GameClock.advance(step);
+                action.apply(null);
+                accumulator -= step;
+                steps++;
+            }
 
-            if (delay != 0) {
-                Thread.sleep(delay);
+            // Too late to catch up, drop the backlog
+            if (accumulator >= step) {
+                accumulator %= step;
             }
+
+            if (steps > 0) {
+                if (render != null) {
+                    render.run();
+                }
+
+                // Nothing moves on this screen, wait for an input instead of ticking
+                if (isIdle != null && isIdle.getAsBoolean()) {
+                    idleWait.await();
+                    previous = System.nanoTime();
+                    accumulator = 0;
+                    continue;
+                }
+            }
+
+            // Sleep until next tick is due
+            long wait = (step - accumulator) / 1_000_000;
+            Thread.sleep(Math.max(1, wait));
         }
 
         return null;
@@ -41,15 +41,25 @@ public class Window extends JFrame {
         this(false);
     }
 
+    /**
+     * @brief Creates a new Window with active rendering turned off.
+     * 
+     * @param isFullscreen Should the window be fullscreen ?
+     */
+    public Window(boolean isFullscreen) {
+        this(isFullscreen, false);
+    }
+
     /**
      * @brief Full constructor.
      * 
      * Create a new Window based on JFrame.
      * 
      * @param isFullscreen Should the window be fullscreen ?
+     * @param isActive Should frames be drawn from a render thread ? See graphics.ActiveRenderer.
      * @see javax.swing.JFrame
      */
-    public Window(boolean isFullscreen) {
+    public Window(boolean isFullscreen, boolean isActive) {
         // Basic needs
         setSize(600, 600);
         setTitle("Les chevaliers d'Ether");
@@ -63,9 +73,11 @@ public class Window extends JFrame {
             setExtendedState(MAXIMIZED_BOTH);
         }
 
-        this.canvas = new Canvas(isFullscreen);
+        this.canvas = new Canvas(isFullscreen, isActive);
 
         add(canvas);
         pack();
+
+        this.canvas.startRendering();
     }
 }
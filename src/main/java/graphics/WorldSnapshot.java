@@ -0,0 +1,335 @@
+/**
+ * @brief This file contains the public class WorldSnapshot.
+ *
+ * @file WorldSnapshot.java
+ * @author agent
+ * @date 17/10/2026
+ *
+ * Part of the `graphics` package. It contains everything needed to draw a frame.
+ */
+
+package graphics;
+
+import java.awt.image.BufferedImage;
+import java.time.Instant;
+import java.util.List;
+
+import character.Entity;
+import character.Player;
+import geometry.Vector2D;
+
+/**
+ * @class WorldSnapshot
+ * @author agent
+ * @date 17/10/2026
+ *
+ * @brief This class is an immutable copy of everything needed to draw a frame.
+ *
+ * The simulation thread creates one at the end of each tick and publishes it, the
+ * renderer only reads the latest published snapshot. This way the renderer never
+ * reads entities or lists while the simulation modifies them, and no lock is needed.
+ *
+ * Entities are stored in parallel arrays, in drawing order. The player is the last one.
+ */
+public final class WorldSnapshot {
+    /** @brief The number of entities. */
+    public final int count;
+    /** @brief The index of the player. */
+    public final int playerIndex;
+
+    /** @brief The x coordinates at the end of the tick. */
+    private final double[] x;
+    /** @brief The y coordinates at the end of the tick. */
+    private final double[] y;
+    /** @brief The x coordinates at the end of the previous tick. */
+    private final double[] previousX;
+    /** @brief The y coordinates at the end of the previous tick. */
+    private final double[] previousY;
+    /** @brief The sprites to draw. */
+    private final BufferedImage[] sprites;
+    /** @brief The sprites offsets. */
+    private final Vector2D[] offsets;
+    /** @brief The current health. */
+    private final int[] health;
+    /** @brief The maximum health. */
+    private final int[] maxHealth;
+    /** @brief The attack stats. */
+    private final double[] attack;
+    /** @brief The defence stats. */
+    private final double[] defence;
+    /** @brief The speed stats. */
+    private final double[] speed;
+    /** @brief The attack cooldowns progress. */
+    private final double[] cooldown;
+
+    /** @brief The player level. */
+    public final int level;
+    /** @brief The player experience in current level. */
+    public final int xp;
+    /** @brief The experience needed to reach next level. */
+    public final int xpToNextLevel;
+    /** @brief The player skill points. */
+    public final int skillPoints;
+    /** @brief The player HUD revision, see character.Player.getHudRevision. */
+    public final int hudRevision;
+
+    /** @brief Is the game started ? */
+    public final boolean hasStarted;
+    /** @brief Is the player dead ? */
+    public final boolean isPlayerDead;
+    /** @brief Is the final boss dead ? */
+    public final boolean isBossDead;
+    /** @brief Is the game paused ? */
+    public final boolean isPaused;
+    /** @brief Is a dialog shown ? */
+    public final boolean inDialog;
+    /** @brief The index of the dialog to show. */
+    public final int dialogIndex;
+    /** @brief Should commands be shown ? */
+    public final boolean showHelp;
+    /** @brief Should the input latency be shown ? */
+    public final boolean showLatency;
+    /** @brief The number of the tick the snapshot was captured at. */
+    public final long tick;
+    /** @brief The real time the tick stands for, see TrueTimer.getTickTime. */
+    public final long tickTime;
+    /** @brief When the game started. */
+    public final Instant start;
+    /** @brief When the boss was killed. */
+    public final Instant end;
+
+    /**
+     * @brief Copy the world state.
+     *
+     * @param entities The entities to draw, in order, not including the player.
+     * @param player The player, drawn last.
+     * @param hasStarted Is the game started ?
+     * @param isBossDead Is the final boss dead ?
+     * @param isPaused Is the game paused ?
+     * @param inDialog Is a dialog shown ?
+     * @param dialogIndex The index of the dialog to show.
+     * @param showHelp Should commands be shown ?
+     * @param showLatency Should the input latency be shown ?
+     * @param tick The number of the tick the snapshot is captured at.
+     * @param tickTime The System.nanoTime the tick stands for.
+     * @param start When the game started.
+     * @param end When the boss was killed.
+     *
+     * @warning It must be called from the simulation thread.
+     */
+    public WorldSnapshot(List<? extends Entity> entities, Player player, boolean hasStarted, boolean isBossDead,
+            boolean isPaused, boolean inDialog, int dialogIndex, boolean showHelp, boolean showLatency, long tick, long tickTime, Instant start, Instant end) {
+        this.count = entities.size() + 1;
+        this.playerIndex = this.count - 1;
+
+        this.x = new double[count];
+        this.y = new double[count];
+        this.previousX = new double[count];
+        this.previousY = new double[count];
+        this.sprites = new BufferedImage[count];
+        this.offsets = new Vector2D[count];
+        this.health = new int[count];
+        this.maxHealth = new int[count];
+        this.attack = new double[count];
+        this.defence = new double[count];
+        this.speed = new double[count];
+        this.cooldown = new double[count];
+
+        for (int i = 0 ; i < entities.size() ; i++) {
+            copy(i, entities.get(i));
+        }
+        copy(playerIndex, player);
+
+        this.level = player.level;
+        this.xp = player.xp;
+        this.xpToNextLevel = player.getXpToNextLevel();
+        this.skillPoints = player.skillPoints;
+        this.hudRevision = player.getHudRevision();
+
+        this.hasStarted = hasStarted;
+        this.isPlayerDead = player.isDead();
+        this.isBossDead = isBossDead;
+        this.isPaused = isPaused;
+        this.inDialog = inDialog;
+        this.dialogIndex = dialogIndex;
+        this.showHelp = showHelp;
+        this.showLatency = showLatency;
+        this.tick = tick;
+        this.tickTime = tickTime;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @brief Copy an entity state.
+     * @param i The entity index.
+     * @param entity The entity.
+     */
+    private void copy(int i, Entity entity) {
+        Vector2D position = entity.getPosition();
+        Vector2D previous = entity.getPreviousPosition();
+
+        this.x[i] = position.x;
+        this.y[i] = position.y;
+        this.previousX[i] = previous.x;
+        this.previousY[i] = previous.y;
+        this.sprites[i] = entity.getSprite();
+        this.offsets[i] = entity.getOffset();
+        this.health[i] = entity.getStats().getHealth().get();
+        this.maxHealth[i] = entity.getStats().getHealth().getMax();
+        this.attack[i] = entity.getStats().getAttack();
+        this.defence[i] = entity.getStats().getDefence();
+        this.speed[i] = entity.getStats().getSpeed();
+        this.cooldown[i] = entity.getAttackCooldownPercent();
+    }
+
+    /**
+     * @brief Tells if the screen only changes on input.
+     * 
+     * It is the case on the title, death and victory screens, and while paused.
+     * Dialogs are shown over the running game, so they are not static.
+     * 
+     * @return true if nothing moves on screen.
+     */
+    public boolean isStatic() {
+        return !hasStarted || isPlayerDead || isBossDead || isPaused;
+    }
+
+    /**
+     * @brief Get how far a frame is between the previous tick and this one.
+     * 
+     * Frames drawn later than a tick after it, when the simulation is late or
+     * waiting, are drawn at this tick.
+     * 
+     * @param now The System.nanoTime the frame is drawn at.
+     * @param step The duration of a tick, in nanoseconds.
+     * @return A value between 0 (previous tick) and 1 (this tick).
+     */
+    public double getAlpha(long now, long step) {
+        return Math.min(1, Math.max(0, 1d * (now - this.tickTime) / step));
+    }
+
+    /**
+     * @brief Get the position to draw an entity at.
+     * @param i The entity index.
+     * @param alpha The progress between the previous tick (0) and this one (1).
+     * @return The interpolated position.
+     */
+    public Vector2D getPosition(int i, double alpha) {
+        return getPosition(i, alpha, new Vector2D());
+    }
+
+    /**
+     * @brief Get the position to draw an entity at, without creating a vector.
+     * @param i The entity index.
+     * @param alpha The progress between the previous tick (0) and this one (1).
+     * @param result The vector to store the position in.
+     * @return The result vector.
+     */
+    public Vector2D getPosition(int i, double alpha, Vector2D result) {
+        return result.setTo(
+            this.previousX[i] + (this.x[i] - this.previousX[i]) * alpha,
+            this.previousY[i] + (this.y[i] - this.previousY[i]) * alpha
+        );
+    }
+
+    /**
+     * @brief Get the sprite of an entity.
+     * @param i The entity index.
+     * @return The sprite.
+     */
+    public BufferedImage getSprite(int i) {
+        return this.sprites[i];
+    }
+
+    /**
+     * @brief Get the sprite size of an entity.
+     * @param i The entity index.
+     * @return The size in the form of {width, height}.
+     */
+    public Vector2D getSpriteSize(int i) {
+        return new Vector2D(this.sprites[i].getWidth(), this.sprites[i].getHeight());
+    }
+
+    /**
+     * @brief Get the sprite size of an entity, without creating a vector.
+     * @param i The entity index.
+     * @param result The vector to store the size in.
+     * @return The result vector, in the form of {width, height}.
+     */
+    public Vector2D getSpriteSize(int i, Vector2D result) {
+        return result.setTo(this.sprites[i].getWidth(), this.sprites[i].getHeight());
+    }
+
+    /**
+     * @brief Get the sprite offset of an entity.
+     * @param i The entity index.
+     * @return The offset.
+     */
+    public Vector2D getOffset(int i) {
+        return this.offsets[i];
+    }
+
+    /**
+     * @brief Get the current health of an entity.
+     * @param i The entity index.
+     * @return The health.
+     */
+    public int getHealth(int i) {
+        return this.health[i];
+    }
+
+    /**
+     * @brief Get the maximum health of an entity.
+     * @param i The entity index.
+     * @return The maximum health.
+     */
+    public int getMaxHealth(int i) {
+        return this.maxHealth[i];
+    }
+
+    /**
+     * @brief Get the health percentage of an entity.
+     * @param i The entity index.
+     * @return The health percentage, between 0 and 1.
+     */
+    public double getHealthPercent(int i) {
+        return this.maxHealth[i] == 0 ? 0 : 1d * this.health[i] / this.maxHealth[i];
+    }
+
+    /**
+     * @brief Get the attack stat of an entity.
+     * @param i The entity index.
+     * @return The attack.
+     */
+    public double getAttack(int i) {
+        return this.attack[i];
+    }
+
+    /**
+     * @brief Get the defence stat of an entity.
+     * @param i The entity index.
+     * @return The defence.
+     */
+    public double getDefence(int i) {
+        return this.defence[i];
+    }
+
+    /**
+     * @brief Get the speed stat of an entity.
+     * @param i The entity index.
+     * @return The speed.
+     */
+    public double getSpeed(int i) {
+        return this.speed[i];
+    }
+
+    /**
+     * @brief Get the attack cooldown progress of an entity.
+     * @param i The entity index.
+     * @return A value between 0 and 1, 0 when the entity can attack.
+     */
+    public double getCooldown(int i) {
+        return this.cooldown[i];
+    }
+}
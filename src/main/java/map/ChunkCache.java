@@ -0,0 +1,199 @@
+/**
+ * @brief This file contains the class ChunkCache.
+ * 
+ * @file ChunkCache.java
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * Part of the `map` package.
+ * It contains a class that keeps pre-rendered pieces of the map.
+ */
+
+package map;
+
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @class ChunkCache
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * @brief This class keeps pre-rendered pieces of the map.
+ * 
+ * A chunk is a square of @ref CHUNK_SIZE tiles on each side where all layers are
+ * composited and scaled once. Drawing the screen then only takes a few chunk images
+ * instead of one scaled image per tile and per layer.
+ * 
+ * Chunks are built when first drawn and the least recently drawn ones are dropped
+ * when more than @ref CAPACITY are kept.
+ * 
+ * @warning This class is not thread safe, it should only be used by the thread that paints.
+ *          Only @ref getBytes can be called from another thread.
+ * @see map.Map
+ */
+class ChunkCache {
+    /** @brief The number of tiles on each side of a chunk. */
+    static final int CHUNK_SIZE = 8;
+    /** @brief The maximum number of chunks kept in memory. */
+    static final int CAPACITY = 48;
+
+    /** @brief The map the chunks are made of. */
+    private Map map;
+    /** @brief The number of chunks on the x axis. */
+    private int chunksX;
+    /** @brief The scale the chunks were rendered with. */
+    private double scale;
+
+    /**
+     * @brief The rendered chunks.
+     *
+     * The structure is made as follows :
+     * - The **key** is the chunk index `cy * chunksX + cx`.
+     * - The **value** is the rendered chunk.
+     *
+     * It is ordered by access, so the eldest entry is the least recently drawn.
+     */
+    private LinkedHashMap<Integer, BufferedImage> chunks;
+    /** @brief The size of all chunks pixels, updated as chunks are added and dropped. */
+    private final AtomicLong bytes = new AtomicLong();
+
+    /**
+     * @brief Creates an empty chunk cache for the given map.
+     * @param map The map the chunks are made of.
+     */
+    ChunkCache(Map map) {
+        this.map = map;
+        this.chunksX = (map.getWidth() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.scale = -1;
+        this.chunks = new LinkedHashMap<Integer, BufferedImage>(CAPACITY, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(java.util.Map.Entry<Integer, BufferedImage> eldest) {
+                if (size() > CAPACITY) {
+                    bytes.addAndGet(-getBytes(eldest.getValue()));
+                    eldest.getValue().flush();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @brief Get the chunk at given chunk coordinates, rendering it if needed.
+     * @param cx The x coordinate in the chunk grid.
+     * @param cy The y coordinate in the chunk grid.
+     * @param scale The scale of the drawn tiles.
+     * @return The rendered chunk.
+     */
+    BufferedImage get(int cx, int cy, double scale) {
+        // All chunks are invalid when the scale changes
+        if (scale != this.scale) {
+            clear();
+            this.scale = scale;
+        }
+
+        int index = cy * chunksX + cx;
+        BufferedImage chunk = chunks.get(index);
+
+        if (chunk == null) {
+            chunk = render(cx, cy, scale);
+            bytes.addAndGet(getBytes(chunk));
+            chunks.put(index, chunk);
+        }
+
+        return chunk;
+    }
+
+    /**
+     * @brief Drop all rendered chunks.
+     */
+    void clear() {
+        for (BufferedImage chunk : chunks.values()) {
+            chunk.flush();
+        }
+        chunks.clear();
+        bytes.set(0);
+    }
+
+    /**
+     * @brief Gets the number of chunks currently kept.
+     * @return The chunk count.
+     */
+    int size() {
+        return chunks.size();
+    }
+
+    /**
+     * @brief Gets the memory used by the kept chunks, from any thread.
+     * @return The size of all chunks pixels, in bytes.
+     */
+    long getBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * @brief Gets the memory used by a chunk.
+     * @param chunk The chunk.
+     * @return The size of its pixels, in bytes.
+     */
+    private static long getBytes(BufferedImage chunk) {
+        return 4L * chunk.getWidth() * chunk.getHeight();
+    }
+
+    /**
+     * @brief Composite all layers of a chunk in a new image.
+     * @param cx The x coordinate in the chunk grid.
+     * @param cy The y coordinate in the chunk grid.
+     * @param scale The scale of the drawn tiles.
+     * @return The rendered chunk.
+     */
+    private BufferedImage render(int cx, int cy, double scale) {
+        int scaledTileSize = (int) Math.floor(map.getTileSize() * scale);
+        int firstX = cx * CHUNK_SIZE;
+        int firstY = cy * CHUNK_SIZE;
+        int tilesX = Math.min(CHUNK_SIZE, map.getWidth() - firstX);
+        int tilesY = Math.min(CHUNK_SIZE, map.getHeight() - firstY);
+
+        // The chunk is opaque if every cell has at least one opaque tile
+        boolean isOpaque = true;
+        for (int j = 0 ; j < tilesY && isOpaque ; j++) {
+            for (int i = 0 ; i < tilesX && isOpaque ; i++) {
+                boolean isCellOpaque = false;
+
+                for (int[] layer : map.getLayers()) {
+                    int tileIdForLayer = layer[(firstY + j) * map.getWidth() + firstX + i];
+
+                    if (tileIdForLayer != 0 && map.getTileTransparency(tileIdForLayer) == Transparency.OPAQUE) {
+                        isCellOpaque = true;
+                        break;
+                    }
+                }
+
+                isOpaque = isCellOpaque;
+            }
+        }
+
+        BufferedImage chunk = Images.createCompatible(tilesX * scaledTileSize, tilesY * scaledTileSize,
+            isOpaque ? Transparency.OPAQUE : Transparency.TRANSLUCENT);
+        Graphics2D g = chunk.createGraphics();
+
+        for (int[] layer : map.getLayers()) {
+            for (int j = 0 ; j < tilesY ; j++) {
+                for (int i = 0 ; i < tilesX ; i++) {
+                    int tileIdForLayer = layer[(firstY + j) * map.getWidth() + firstX + i];
+
+                    if (tileIdForLayer != 0) {
+                        g.drawImage(map.getScaledTile(tileIdForLayer, scale), i * scaledTileSize, j * scaledTileSize, null);
+                    }
+                }
+            }
+        }
+
+        g.dispose();
+        return chunk;
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * @brief This file contains the public class Converter.
+ * 
+ * @file Converter.java
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * Part of the `map` package.
+ * It contains a class that converts a .MAPDATA text file into a .MAPBIN binary file.
+ */
+
+package map;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * @class Converter
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * @brief This class converts a .MAPDATA text file into a .MAPBIN binary file.
+ * 
+ * The binary file is what @ref map.Reader loads first, it avoids parsing millions of
+ * characters at startup. It stores the length, date and CRC-32 of the .MAPDATA, so
+ * the Reader knows when it is out of date, and @ref update writes it again.
+ * 
+ * Usage, from the directory containing `resources/` :
+ * ```shell
+ * java map.Converter [mapDir]
+ * ```
+ * 
+ * @see map.Reader
+ */
+public class Converter {
+    /**
+     * @brief Converts the given map directory, defaults to `resources/map/`.
+     * @param args The arguments given in the console.
+     */
+    public static void main(String[] args) {
+        String mapDir = args.length > 0 ? args[0] : "resources/map/";
+
+        if (!mapDir.endsWith("/")) {
+            mapDir += "/";
+        }
+
+        try {
+            convert(mapDir);
+            System.out.println("Wrote " + mapDir + Reader.BINARY_FILE);
+        } catch (IOException e) {
+            System.out.println(e);
+        }
+    }
+
+    /**
+     * @brief Read the .MAPDATA of the given directory and write its .MAPBIN next to it.
+     * @param mapDir The map directory.
+     * @throws IOException If .MAPDATA is invalid or if the binary file cannot be written.
+     */
+    public static void convert(String mapDir) throws IOException {
+        write(new Reader(mapDir, false), mapDir + Reader.BINARY_FILE);
+    }
+
+    /**
+     * @brief Write the .MAPBIN of a map directory again if the reader found it stale.
+     * 
+     * Failing to write it only prints a message, the map is already read.
+     * 
+     * @param reader The reader that read the map directory.
+     * @param mapDir The map directory.
+     * @see map.Reader#isBinaryStale
+     */
+    public static void update(Reader reader, String mapDir) {
+        if (!reader.isBinaryStale()) {
+            return;
+        }
+
+        String path = mapDir + Reader.BINARY_FILE;
+
+        try {
+            write(reader, path);
+            System.out.println("[map] " + path + " was out of date, written again");
+        } catch (IOException e) {
+            System.out.println("[map] " + path + " is out of date and can't be written : " + e.getMessage());
+        }
+    }
+
+    /**
+     * @brief Write the map held by the reader in binary format.
+     * 
+     * Tiles are packed on 2 bytes when all ids fit, on 4 bytes otherwise. The file
+     * is written next to the output then moved in place, so an interrupted write
+     * never leaves a truncated file behind.
+     * 
+     * @param reader The reader holding the map.
+     * @param path The output file path.
+     * @throws IOException If the file cannot be written.
+     * @see map.Reader
+     */
+    public static void write(Reader reader, String path) throws IOException {
+        int maxId = 0;
+        for (int[] layer : reader.getLayers().values()) {
+            for (int id : layer) {
+                maxId = Math.max(maxId, id);
+            }
+        }
+        short bytesPerTile = (short)(maxId <= 0xFFFF ? 2 : 4);
+
+        Path target = Paths.get(path).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try {
+            writeTo(reader, temp, bytesPerTile);
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @brief Write the map held by the reader in binary format to a file.
+     * @param reader The reader holding the map.
+     * @param path The output file.
+     * @param bytesPerTile The number of bytes of each tile, 2 or 4.
+     * @throws IOException If the file cannot be written.
+     */
+    private static void writeTo(Reader reader, Path path, short bytesPerTile) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(Reader.BINARY_MAGIC);
+            out.writeShort(Reader.BINARY_VERSION);
+            out.writeLong(reader.getSourceLength());
+            out.writeLong(reader.getSourceModified());
+            out.writeInt(reader.getSourceCrc());
+            out.writeShort(bytesPerTile);
+
+            // Meta data
+            out.writeInt(reader.getWidth());
+            out.writeInt(reader.getHeight());
+            out.writeInt(reader.getTileSize());
+
+            String[] walls = reader.getWalls() == null ? new String[0] : reader.getWalls();
+            out.writeInt(walls.length);
+            for (String wall : walls) {
+                writeName(out, wall);
+            }
+
+            // Index data
+            out.writeInt(reader.getTilesetNames().size());
+            for (var entry : reader.getTilesetNames().entrySet()) {
+                out.writeInt(entry.getKey());
+                writeName(out, entry.getValue());
+            }
+
+            // Map data
+            out.writeInt(reader.getLayers().size());
+            for (var entry : reader.getLayers().entrySet()) {
+                int[] layer = entry.getValue();
+
+                if (layer.length != reader.getWidth() * reader.getHeight()) {
+                    throw new IOException("Layer " + entry.getKey() + " doesn't match map size.");
+                }
+
+                writeName(out, entry.getKey());
+                for (int id : layer) {
+                    if (bytesPerTile == 2) {
+                        out.writeShort(id);
+                    } else {
+                        out.writeInt(id);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @brief Write a name as a short length followed by UTF-8 bytes.
+     * @param out The output stream.
+     * @param name The name to write.
+     * @throws IOException If the name cannot be written.
+     */
+    private static void writeName(DataOutputStream out, String name) throws IOException {
+        byte[] raw = name.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(raw.length);
+        out.write(raw);
+    }
+}
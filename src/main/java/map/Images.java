@@ -0,0 +1,90 @@
+/**
+ * @brief This file contains the public class Images.
+ * 
+ * @file Images.java
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * Part of the `map` package.
+ * It contains helpers that create images in the screen's native format.
+ */
+
+package map;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+/**
+ * @class Images
+ * @author agent
+ * @date 17/10/2026
+ * 
+ * @brief This class creates images in the screen's native format.
+ * 
+ * It only depends on Java2D, so both the map and the graphics packages can use it.
+ * 
+ * @see graphics.Assets
+ */
+public final class Images {
+    private Images() {
+    }
+
+    /**
+     * @brief Read an image from disk and convert it to the screen's format.
+     * @param path The path to the image file.
+     * @return The converted image.
+     * @throws IOException In case the image couldn't be read.
+     */
+    public static BufferedImage load(String path) throws IOException {
+        BufferedImage image = ImageIO.read(new File(path));
+
+        if (image == null) {
+            throw new IOException("Couldn't read image : " + path);
+        }
+
+        return toCompatible(image);
+    }
+
+    /**
+     * @brief Copy an image into an image in the screen's native format.
+     * @param image The image to convert.
+     * @return The converted image.
+     * @see createCompatible
+     */
+    public static BufferedImage toCompatible(BufferedImage image) {
+        BufferedImage compatible = createCompatible(image.getWidth(), image.getHeight(), image.getTransparency());
+
+        Graphics2D g = compatible.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+
+        return compatible;
+    }
+
+    /**
+     * @brief Create an image in the screen's native format.
+     * 
+     * Such images can be cached in video memory by Java2D, which makes drawing them
+     * much faster than drawing what ImageIO decodes.
+     * 
+     * @param width The image width.
+     * @param height The image height.
+     * @param transparency One of Transparency.OPAQUE, BITMASK or TRANSLUCENT.
+     * @return A new blank image.
+     * @see java.awt.GraphicsConfiguration
+     */
+    public static BufferedImage createCompatible(int width, int height, int transparency) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        }
+
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+            .createCompatibleImage(width, height, transparency);
+    }
+}
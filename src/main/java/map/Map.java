@@ -12,8 +12,12 @@
 package map;
 
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 
 import graphics.Camera;
@@ -27,8 +31,16 @@ import graphics.Camera;
  * @brief This class allows to read a map directory and get tile on position given.
  */
 public class Map {
-    /** @brief Stores all tiles */
+    /** @brief Stores all tiles, as cut from the tilesets */
     private BufferedImage[] tiles;
+    /** @brief Stores the tiles converted for the screen and scaled, created on first use */
+    private BufferedImage[] scaledTiles;
+    /** @brief The scale of the tiles in @ref scaledTiles */
+    private double scaledTilesScale = -1;
+    /** @brief The memory used by @ref scaledTiles, in bytes, only written by the thread that paints */
+    private volatile long scaledTilesBytes;
+    /** @brief The transparency of each tile (Transparency constants), 0 if not computed yet */
+    private int[] tilesTransparency;
     /** @brief The map tiles size */
     private int tileSize;
     /** @brief The map width in tile unit (tu) */
@@ -37,6 +49,15 @@ public class Map {
     private int height;
     /** @brief The map wall layers names */
     private String[] walls;
+    /** @brief The memory used by the decoded tilesets, in bytes */
+    private long tilesetsBytes;
+    /**
+     * @brief The solidity bitmap.
+     *
+     * One bit per tile, in row-major order : tile (x, y) is bit `y * width + x`.
+     * A bit is set if any wall layer has a tile there.
+     */
+    private long[] wallBits;
     
     /**
      * @brief The layers.
@@ -47,6 +68,9 @@ public class Map {
      */
     private LinkedHashMap<String, int[]> layers;
 
+    /** @brief The pre-rendered chunks, created on first draw */
+    private volatile ChunkCache chunkCache;
+
     /**
      * @brief Map constructor.
      * 
@@ -67,6 +91,9 @@ public class Map {
             return;
         }
 
+        // Keep the binary map in step with the text one for the next start
+        Converter.update(mapReader, mapDir);
+
         // Get all basic info
         tileSize = mapReader.getTileSize();
         width = mapReader.getWidth();
@@ -74,6 +101,25 @@ public class Map {
         walls = mapReader.getWalls();
         layers = mapReader.getLayers();
 
+        // ---- Build walls bitmap ----
+
+        wallBits = new long[(width * height + 63) / 64];
+
+        if (walls != null) {
+            for (String wall : walls) {
+                if (!layers.containsKey(wall)) {
+                    continue;
+                }
+
+                int[] layer = layers.get(wall);
+                for (int i = 0 ; i < layer.length ; i++) {
+                    if (layer[i] != 0) {
+                        wallBits[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+        }
+
         // ---- Split tilesets ----
 
         // Get number of tiles and create array
@@ -82,9 +128,14 @@ public class Map {
         int last_width = mapReader.getTilesets().lastEntry().getValue().getWidth();
 
         tiles = new BufferedImage[last_index + last_height * last_width / (tileSize * tileSize) - 1];
+        tilesTransparency = new int[tiles.length];
 
         // Loop through all tilesets
         for (var entry : mapReader.getTilesets().entrySet()) {
+            // Tiles share the raster of their tileset, so count it once
+            DataBuffer buffer = entry.getValue().getRaster().getDataBuffer();
+            tilesetsBytes += (long)buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+
             // Define array initial index
             int k = entry.getKey() - 1;
             
@@ -122,22 +173,140 @@ public class Map {
         for (int[] layer : layers.values()) {
             int tileIdForLayer = layer[tileCoordinate];
             if (tileIdForLayer != 0) {
-                cam.drawImageClamped(g, this, getTileById(tileIdForLayer), x * this.tileSize * scale, y * this.tileSize * scale, scale);
+                cam.drawPrescaledImageClamped(g, this, getScaledTile(tileIdForLayer, scale), x * this.tileSize * scale, y * this.tileSize * scale, scale);
             }
         }
 
         return true;
     }
 
+    /**
+     * @brief Method to draw all tiles in the given rectangle, using pre-rendered chunks.
+     * 
+     * Every chunk touching the rectangle is drawn whole, so a few more tiles than asked
+     * may be drawn on the borders.
+     * 
+     * @param cam The camera on which to draw the chunks.
+     * @param g The graphics object on which to draw chunks.
+     * @param lowerX The first x coordinate in the map grid (included).
+     * @param lowerY The first y coordinate in the map grid (included).
+     * @param upperX The last x coordinate in the map grid (excluded).
+     * @param upperY The last y coordinate in the map grid (excluded).
+     * @param scale The scale of the drawn tiles.
+     * @see map.ChunkCache
+     */
+    public void drawChunks(Camera cam, Graphics g, int lowerX, int lowerY, int upperX, int upperY, double scale) {
+        if (chunkCache == null) {
+            chunkCache = new ChunkCache(this);
+        }
+
+        lowerX = Math.max(lowerX, 0);
+        lowerY = Math.max(lowerY, 0);
+        upperX = Math.min(upperX, width);
+        upperY = Math.min(upperY, height);
+
+        double scaledTileSize = Math.floor(tileSize * scale);
+
+        for (int cy = lowerY / ChunkCache.CHUNK_SIZE ; cy * ChunkCache.CHUNK_SIZE < upperY ; cy++) {
+            for (int cx = lowerX / ChunkCache.CHUNK_SIZE ; cx * ChunkCache.CHUNK_SIZE < upperX ; cx++) {
+                BufferedImage chunk = chunkCache.get(cx, cy, scale);
+
+                // Tiles are centered on their coordinates, so is the chunk's first tile
+                double x = cx * ChunkCache.CHUNK_SIZE * tileSize * scale - scaledTileSize / 2 + chunk.getWidth() / 2;
+                double y = cy * ChunkCache.CHUNK_SIZE * tileSize * scale - scaledTileSize / 2 + chunk.getHeight() / 2;
+
+                cam.drawPrescaledImageClamped(g, this, chunk, x, y, scale);
+            }
+        }
+    }
+
     /**
      * @brief Get tile for given id.
      * @param id The id of the tile, must be not null.
      * @return The tile in the tileset corresponding to the given id.
      */
-    private BufferedImage getTileById(int id) {
+    BufferedImage getTileById(int id) {
         return tiles[id - 1];
     }
 
+    /**
+     * @brief Get tile for given id, converted for the screen and scaled.
+     * 
+     * The tile is copied once in a compatible image of the right transparency, so
+     * Java2D can keep it in video memory and draw it without scaling nor conversion.
+     * 
+     * @param id The id of the tile, must be not null.
+     * @param scale The scale of the drawn tile.
+     * @return The scaled tile.
+     */
+    BufferedImage getScaledTile(int id, double scale) {
+        // All scaled tiles are invalid when the scale changes
+        if (scale != scaledTilesScale) {
+            scaledTiles = new BufferedImage[tiles.length];
+            scaledTilesScale = scale;
+            scaledTilesBytes = 0;
+        }
+
+        BufferedImage scaled = scaledTiles[id - 1];
+
+        if (scaled == null) {
+            int size = (int) Math.floor(tileSize * scale);
+            scaled = Images.createCompatible(size, size, getTileTransparency(id));
+
+            Graphics2D g = scaled.createGraphics();
+            g.drawImage(getTileById(id), 0, 0, size, size, null);
+            g.dispose();
+
+            scaledTiles[id - 1] = scaled;
+            scaledTilesBytes += 4L * size * size;
+        }
+
+        return scaled;
+    }
+
+    /**
+     * @brief Get the transparency of the tile for given id.
+     * 
+     * - OPAQUE if all pixels are opaque.
+     * - BITMASK if all pixels are either opaque or fully transparent.
+     * - TRANSLUCENT otherwise.
+     * 
+     * @param id The id of the tile, must be not null.
+     * @return One of the Transparency constants.
+     * @see java.awt.Transparency
+     */
+    int getTileTransparency(int id) {
+        if (tilesTransparency[id - 1] == 0) {
+            BufferedImage tile = getTileById(id);
+            int transparency = Transparency.OPAQUE;
+
+            for (int j = 0 ; j < tile.getHeight() && transparency != Transparency.TRANSLUCENT ; j++) {
+                for (int i = 0 ; i < tile.getWidth() ; i++) {
+                    int alpha = tile.getRGB(i, j) >>> 24;
+
+                    if (alpha == 0) {
+                        transparency = Transparency.BITMASK;
+                    } else if (alpha != 255) {
+                        transparency = Transparency.TRANSLUCENT;
+                        break;
+                    }
+                }
+            }
+
+            tilesTransparency[id - 1] = transparency;
+        }
+
+        return tilesTransparency[id - 1];
+    }
+
+    /**
+     * @brief Get all layers, in drawing order.
+     * @return The layers' tilemaps.
+     */
+    Collection<int[]> getLayers() {
+        return layers.values();
+    }
+
     /**
      * @brief Gets the tile size.
      *
@@ -165,9 +334,63 @@ public class Map {
         return height;
     }
 
+    /**
+     * @brief Gets the number of layers.
+     *
+     * @return The layer count.
+     */
+    public int getLayerCount() {
+        return layers.size();
+    }
+
+    /**
+     * @brief Gets the number of tiles cut from the tilesets.
+     *
+     * @return The tile count.
+     */
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    /**
+     * @brief Gets the memory used by the layers.
+     *
+     * @return The size of all layers arrays, in bytes.
+     */
+    public long getLayersBytes() {
+        long bytes = 0;
+        for (int[] layer : layers.values()) {
+            bytes += 4L * layer.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * @brief Gets the memory used by the decoded tilesets.
+     *
+     * @return The size of all tilesets pixels, in bytes.
+     */
+    public long getTilesetsBytes() {
+        return tilesetsBytes;
+    }
+
+    /**
+     * @brief Gets the memory used by the scaled tiles and pre-rendered chunks.
+     *
+     * Can be called from any thread, the sizes are counted as images are created.
+     *
+     * @return The size of all scaled tiles and chunks pixels, in bytes.
+     */
+    public long getRenderCacheBytes() {
+        ChunkCache cache = chunkCache;
+        return scaledTilesBytes + (cache == null ? 0 : cache.getBytes());
+    }
+
     /**
      * Checks if a specified location contains a wall.
      *
+     * Reads the solidity bitmap built when the map is loaded.
+     *
      * @param x The x-coordinate of the location.
      * @param y The y-coordinate of the location.
      * @return True if the location contains a wall, false otherwise.
@@ -179,18 +402,50 @@ public class Map {
         }
 
         int tileCoordinate = y * width + x;
-        boolean isWallOnTile = false;
+        return (wallBits[tileCoordinate >>> 6] & (1L << tileCoordinate)) != 0;
+    }
 
-        for (String wall : walls) {
-            if (!layers.containsKey(wall)) {
-                continue;
-            }
-            
-            if (layers.get(wall)[tileCoordinate] != 0) {
-                isWallOnTile = true;
+    /**
+     * Checks if a rectangle of tiles contains at least one wall.
+     *
+     * The bitmap is tested 64 tiles at a time on each row.
+     *
+     * @param x The x-coordinate of the top left tile.
+     * @param y The y-coordinate of the top left tile.
+     * @param w The number of tiles on the x axis.
+     * @param h The number of tiles on the y axis.
+     * @return True if any tile of the rectangle is a wall or out of the map, false otherwise.
+     */
+    public boolean isWallInRect(int x, int y, int w, int h) {
+        if (w <= 0 || h <= 0) {
+            return false;
+        }
+
+        // Out of boundary IS like wall
+        if (x < 0 || y < 0 || x + w > width || y + h > height) {
+            return true;
+        }
+
+        for (int j = y ; j < y + h ; j++) {
+            int first = j * width + x;
+            int last = first + w - 1;
+
+            for (int word = first >>> 6 ; word <= last >>> 6 ; word++) {
+                long mask = -1L;
+
+                if (word == first >>> 6) {
+                    mask &= -1L << first;
+                }
+                if (word == last >>> 6) {
+                    mask &= -1L >>> (63 - (last & 63));
+                }
+
+                if ((wallBits[word] & mask) != 0) {
+                    return true;
+                }
             }
         }
 
-        return isWallOnTile;
+        return false;
     }
 }
\ No newline at end of file
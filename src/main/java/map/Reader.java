@@ -12,13 +12,22 @@
 package map;
 
 import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.LinkedHashMap;
-
-import javax.imageio.ImageIO;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 
 /**
  * @class Reader
@@ -38,6 +47,12 @@ public class Reader {
      * - The **value** is the whole tileset.
      */
     private LinkedHashMap<Integer, BufferedImage> tilesets;
+    /**
+     * @brief The tilesets file names.
+     *
+     * Same keys as @ref tilesets, used when the map is written back (see map.Converter).
+     */
+    private LinkedHashMap<Integer, String> tilesetNames;
     /**
      * @brief The layers.
      *
@@ -54,6 +69,23 @@ public class Reader {
     private int tileSize;
     /** @brief The map walls */
     private String[] walls;
+    /** @brief The length of the .MAPDATA the map comes from, -1 if unknown */
+    private long sourceLength;
+    /** @brief The modification time of the .MAPDATA the map comes from, in milliseconds */
+    private long sourceModified;
+    /** @brief The CRC-32 of the .MAPDATA the map comes from */
+    private int sourceCrc;
+    /** @brief Was the .MAPBIN allowed but missing, out of date or unreadable ? */
+    private boolean binaryStale;
+
+    /** @brief Name of the text map file inside the map directory. */
+    public final static String TEXT_FILE = ".MAPDATA";
+    /** @brief Name of the binary map file inside the map directory. */
+    public final static String BINARY_FILE = ".MAPBIN";
+    /** @brief Magic number at the start of a binary map file ("MAPB"). */
+    final static int BINARY_MAGIC = 0x4D415042;
+    /** @brief Version of the binary map format. */
+    final static short BINARY_VERSION = 3;
 
     /** @brief Constant used internally to know sections flags. */
     private final static LinkedHashMap<String, Integer> dataflagDic = new LinkedHashMap<String, Integer>(){{
@@ -64,77 +96,200 @@ public class Reader {
 
     /**
      * @brief Read given map directory containing .MAPDATA file and tilesets
+     *
+     * If the directory also contains an up to date .MAPBIN file, it is read instead.
+     * Otherwise @ref isBinaryStale tells that it should be written again (see map.Converter).
+     *
      * @param mapDir The map directory
      * @throws IOException If .MAPDATA is invalid or if files are missing
      */
     public Reader(String mapDir) throws IOException {
+        this(mapDir, true);
+    }
+
+    /**
+     * @brief Read given map directory containing .MAPDATA (or .MAPBIN) file and tilesets
+     *
+     * The binary file stores the length, modification time and CRC-32 of the text file
+     * it was converted from. It is only used if they match the current text file, so
+     * that editing the .MAPDATA without converting it again never loads a stale map.
+     * The text file is only read to compute its CRC-32 when its length matches but its
+     * date doesn't, as dates depend on the order files were checked out in.
+     *
+     * A binary file that can't be read falls back to the text file. When the binary
+     * file is allowed but can't be used, @ref isBinaryStale is set.
+     *
+     * @param mapDir The map directory
+     * @param allowBinary Should the .MAPBIN file be used when available ?
+     * @throws IOException If the map file is invalid or if files are missing
+     */
+    public Reader(String mapDir, boolean allowBinary) throws IOException {
         // Initial declarations
         tilesets = new LinkedHashMap<Integer, BufferedImage>();
+        tilesetNames = new LinkedHashMap<Integer, String>();
         layers = new LinkedHashMap<String, int[]>();
+        clear();
+
+        File textFile = new File(mapDir + TEXT_FILE);
+        File binaryFile = new File(mapDir + BINARY_FILE);
+
+        if (allowBinary && binaryFile.isFile() && (!textFile.isFile() || isUpToDate(binaryFile, textFile))) {
+            try {
+                readBinary(mapDir, binaryFile);
+                return;
+            } catch (IOException e) {
+                if (!textFile.isFile()) {
+                    throw e;
+                }
+
+                System.out.println("[map] " + binaryFile.getPath() + " can't be read, using " + TEXT_FILE + " : " + e.getMessage());
+                clear();
+            }
+        }
+
+        readText(mapDir);
+        binaryStale = allowBinary;
+    }
+
+    /**
+     * @brief Forget everything read, before reading another file.
+     */
+    private void clear() {
+        tilesets.clear();
+        tilesetNames.clear();
+        layers.clear();
+        walls = null;
         height = -1;
         width = -1;
         tileSize = -1;
+        sourceLength = -1;
+        sourceModified = 0;
+        sourceCrc = 0;
+    }
+
+    /**
+     * @brief Check the header of a binary file against the text file.
+     * @param binaryFile The .MAPBIN file
+     * @param textFile The .MAPDATA file
+     * @return true if it has the current version and was converted from the same text file.
+     */
+    private static boolean isUpToDate(File binaryFile, File textFile) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(binaryFile)))) {
+            if (in.readInt() != BINARY_MAGIC || in.readShort() != BINARY_VERSION || in.readLong() != textFile.length()) {
+                return false;
+            }
+
+            long modified = in.readLong();
+            int crc = in.readInt();
+
+            // Same length and date, the text file wasn't touched since
+            return modified == textFile.lastModified() || crc == checksum(textFile);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @brief Compute the CRC-32 of a file.
+     * @param file The file
+     * @return The CRC-32 of its content
+     * @throws IOException If the file cannot be read
+     */
+    private static int checksum(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] chunk = new byte[64 * 1024];
 
-        // File reader essentials
-        BufferedReader mapdataReader = new BufferedReader(new FileReader(mapDir + ".MAPDATA"));
-        String line;
+        try (InputStream in = new FileInputStream(file)) {
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                crc.update(chunk, 0, read);
+            }
+        }
 
+        return (int) crc.getValue();
+    }
+
+    /**
+     * @brief Read the .MAPDATA text file.
+     * @param mapDir The map directory
+     * @throws IOException If .MAPDATA is invalid or if files are missing
+     */
+    private void readText(String mapDir) throws IOException {
         // File validation system
         int currentDataflag = -1;
         int dataflags = 0b111;
 
-        while ((line = mapdataReader.readLine()) != null) {
-            // If blank line, the interpreter just skips it
-            if (line.isBlank()) {
-                continue;
-            }
+        File textFile = new File(mapDir + TEXT_FILE);
+        long length = textFile.length();
+        long modified = textFile.lastModified();
+        int crc;
 
-            // If on title, get it and go next line
-            if (dataflagDic.containsKey(line)) {
-                currentDataflag = dataflagDic.get(line);
-                dataflags ^= currentDataflag;
-                continue;
-            }
+        // File reader essentials, the CRC-32 is computed while reading
+        try (CheckedInputStream checked = new CheckedInputStream(new FileInputStream(textFile), new CRC32());
+             BufferedReader mapdataReader = new BufferedReader(new InputStreamReader(checked))) {
+            String line;
 
-            // No section title has been found
-            if (currentDataflag == -1) {
-                mapdataReader.close();
-                throw new IOException("The given file doesn't respect file specifications.");
-            }
+            while (true) {
+                // Layers are streamed from the reader, their line is never built
+                if (currentDataflag == 0b100 && peek(mapdataReader) == '#') {
+                    loadTileMap(mapdataReader);
+                    continue;
+                }
 
-            // Loading tilesets
-            if (currentDataflag == 0b001) {
-                loadTileset(mapDir, line);
-            }
+                if ((line = mapdataReader.readLine()) == null) {
+                    break;
+                }
 
-            // Reading constants
-            if (currentDataflag == 0b010) {
-                String constant = line.split(" - ")[0];
-                String constantValue = line.split(" - ")[1];
-
-                if (constant.equals("HEIGHT")) {
-                    height = Integer.parseInt(constantValue);
-                } else if (constant.equals("WIDTH")) {
-                    width = Integer.parseInt(constantValue);
-                } else if (constant.equals("TILESIZE")) {
-                    tileSize = Integer.parseInt(constantValue);
-                } else if (constant.equals("WALLS")) {
-                    walls = constantValue.split(",");
+                // If blank line, the interpreter just skips it
+                if (line.isBlank()) {
+                    continue;
                 }
-            }
 
-            // Reading layers
-            if (currentDataflag == 0b100) {
-                loadTileMap(line);
+                // If on title, get it and go next line
+                if (dataflagDic.containsKey(line)) {
+                    currentDataflag = dataflagDic.get(line);
+                    dataflags ^= currentDataflag;
+                    continue;
+                }
+
+                // No section title has been found, or unknown line in layers section
+                if (currentDataflag == -1 || currentDataflag == 0b100) {
+                    throw new IOException("The given file doesn't respect file specifications.");
+                }
+
+                // Loading tilesets
+                if (currentDataflag == 0b001) {
+                    loadTileset(mapDir, line);
+                }
+
+                // Reading constants
+                if (currentDataflag == 0b010) {
+                    String constant = line.split(" - ")[0];
+                    String constantValue = line.split(" - ")[1];
+
+                    if (constant.equals("HEIGHT")) {
+                        height = Integer.parseInt(constantValue);
+                    } else if (constant.equals("WIDTH")) {
+                        width = Integer.parseInt(constantValue);
+                    } else if (constant.equals("TILESIZE")) {
+                        tileSize = Integer.parseInt(constantValue);
+                    } else if (constant.equals("WALLS")) {
+                        walls = constantValue.split(",");
+                    }
+                }
             }
-        }
 
-        mapdataReader.close();
+            crc = (int) checked.getChecksum().getValue();
+        }
 
         // The file was not correct
         if (dataflags != 0 || height == -1 || width == -1 || tileSize == -1) {
             throw new IOException("The given file doesn't respect file specifications.");
         }
+
+        sourceLength = length;
+        sourceModified = modified;
+        sourceCrc = crc;
     }
 
     /**
@@ -148,31 +303,208 @@ public class Reader {
         int tilesetStart = Integer.parseInt(line.split(" - ")[0]);
         String tilesetName = line.split(" - ")[1];
 
-        // Load tileset image and store it
-        BufferedImage tileset = ImageIO.read(new File(mapDir + tilesetName));
+        putTileset(mapDir, tilesetStart, tilesetName);
+    }
+
+    /**
+     * @brief Load tileset image and store it with its name
+     * @param mapDir The directory containing map data
+     * @param tilesetStart The index of the first tile of the tileset
+     * @param tilesetName The tileset file name
+     * @throws IOException If tileset cannot be found
+     */
+    private void putTileset(String mapDir, int tilesetStart, String tilesetName) throws IOException {
+        BufferedImage tileset = Images.load(mapDir + tilesetName);
+
         tilesets.put(tilesetStart, tileset);
+        tilesetNames.put(tilesetStart, tilesetName);
+    }
+
+    /**
+     * @brief Read the .MAPBIN binary file.
+     *
+     * The file is memory mapped, so layers are decoded straight from the mapping
+     * into their int arrays without any intermediate String.
+     *
+     * The layout (big endian) is the following :
+     * - `int` magic number, `short` version.
+     * - `long` length, `long` modification time and `int` CRC-32 of the .MAPDATA it was
+     *   converted from, -1, 0 and 0 if none.
+     * - `short` bytes per tile (2 or 4).
+     * - `int` width, `int` height, `int` tile size.
+     * - `int` walls count, then each wall layer name.
+     * - `int` tilesets count, then each `int` first index and tileset name.
+     * - `int` layers count, then each layer name and its width * height packed tiles.
+     *
+     * Names are stored as a `short` length followed by UTF-8 bytes.
+     *
+     * @param mapDir The map directory
+     * @param binaryFile The .MAPBIN file
+     * @throws IOException If .MAPBIN is invalid or if files are missing
+     */
+    private void readBinary(String mapDir, File binaryFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(binaryFile.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != BINARY_MAGIC || buffer.getShort() != BINARY_VERSION) {
+                throw new IOException("The given file doesn't respect file specifications.");
+            }
+
+            sourceLength = buffer.getLong();
+            sourceModified = buffer.getLong();
+            sourceCrc = buffer.getInt();
+
+            int bytesPerTile = buffer.getShort();
+            if (bytesPerTile != 2 && bytesPerTile != 4) {
+                throw new IOException("The given file doesn't respect file specifications.");
+            }
+
+            // Reading constants
+            width = buffer.getInt();
+            height = buffer.getInt();
+            tileSize = buffer.getInt();
+
+            walls = new String[buffer.getInt()];
+            for (int i = 0 ; i < walls.length ; i++) {
+                walls[i] = readName(buffer);
+            }
+
+            // Loading tilesets
+            int tilesetCount = buffer.getInt();
+            for (int i = 0 ; i < tilesetCount ; i++) {
+                int tilesetStart = buffer.getInt();
+                putTileset(mapDir, tilesetStart, readName(buffer));
+            }
+
+            // Reading layers
+            int layerCount = buffer.getInt();
+            for (int i = 0 ; i < layerCount ; i++) {
+                String identifier = readName(buffer);
+                int[] tilemap = new int[width * height];
+
+                if (bytesPerTile == 2) {
+                    for (int j = 0 ; j < tilemap.length ; j++) {
+                        tilemap[j] = buffer.getShort() & 0xFFFF;
+                    }
+                } else {
+                    buffer.asIntBuffer().get(tilemap);
+                    buffer.position(buffer.position() + tilemap.length * 4);
+                }
+
+                layers.put(identifier, tilemap);
+            }
+        } catch (RuntimeException e) {
+            // Truncated or corrupted file (BufferUnderflowException, NegativeArraySizeException...)
+            throw new IOException("The given file doesn't respect file specifications.", e);
+        }
+
+        // The file was not correct
+        if (width <= 0 || height <= 0 || tileSize <= 0 || tilesets.isEmpty()) {
+            throw new IOException("The given file doesn't respect file specifications.");
+        }
+    }
+
+    /**
+     * @brief Read a name stored as a short length followed by UTF-8 bytes.
+     * @param buffer The buffer to read from
+     * @return The decoded name
+     */
+    private static String readName(ByteBuffer buffer) {
+        byte[] raw = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(raw);
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @brief Look at the next character without consuming it
+     * @param reader The reader
+     * @return The next character, -1 at the end of the file
+     * @throws IOException If the reader fails
+     */
+    private static int peek(BufferedReader reader) throws IOException {
+        reader.mark(1);
+        int next = reader.read();
+        reader.reset();
+        return next;
     }
 
     /**
      * @brief Load tile map in layer set
-     * @param data The data line read in the .MAPDATA file
+     *
+     * The layer line `#NAME# id,id,...` is tokenized character by character, each id
+     * is written directly in a `width * height` array, so no String is built for the data.
+     *
+     * @param reader The reader, positioned on the `#` starting the layer line
+     * @throws IOException If the layer is malformed or doesn't match WIDTH and HEIGHT
      */
-    private void loadTileMap (String data) {
-        int identifierEnd = data.indexOf("#", 1);
-        String identifier = data.substring(1, identifierEnd);
+    private void loadTileMap (BufferedReader reader) throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new IOException("Layers must be declared after WIDTH and HEIGHT.");
+        }
+
+        // Read identifier between the two '#'
+        StringBuilder identifier = new StringBuilder();
+        int c = reader.read(); // Opening '#'
+
+        while ((c = reader.read()) != '#') {
+            if (c == -1 || c == '\n') {
+                throw new IOException("The given file doesn't respect file specifications.");
+            }
+            identifier.append((char)c);
+        }
 
         // Process layer
-        data = data.substring(identifierEnd + 2);
+        int[] tilemapProcessed = new int[width * height];
+        int count = 0;
+        int value = 0;
+        boolean hasDigit = false;
+
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (c >= '0' && c <= '9') {
+                if (value > (Integer.MAX_VALUE - 9) / 10) {
+                    throw new IOException("Tile id too big in layer " + identifier + ".");
+                }
+                value = value * 10 + (c - '0');
+                hasDigit = true;
+            } else if (c == ',') {
+                count = storeTile(tilemapProcessed, count, value, hasDigit, identifier);
+                value = 0;
+                hasDigit = false;
+            } else if (c != ' ' && c != '\r' && c != '\t') {
+                throw new IOException("Unexpected character '" + (char)c + "' in layer " + identifier + ".");
+            }
+        }
+        count = storeTile(tilemapProcessed, count, value, hasDigit, identifier);
 
-        String[] tilemapRaw = data.split(",");
-        int[] tilemapProcessed = new int[tilemapRaw.length];
-      
-        for (int i = 0 ; i < tilemapRaw.length ; i++) {
-            tilemapProcessed[i] = Integer.parseInt(tilemapRaw[i]);
+        if (count != tilemapProcessed.length) {
+            throw new IOException("Layer " + identifier + " has " + count + " tiles, expected " + width + "x" + height + ".");
         }
 
         // Add layer
-        layers.put(identifier, tilemapProcessed);
+        layers.put(identifier.toString(), tilemapProcessed);
+    }
+
+    /**
+     * @brief Store a parsed tile id at the end of the layer
+     * @param tilemap The layer being filled
+     * @param count The number of tiles already stored
+     * @param value The parsed id
+     * @param hasDigit Was at least one digit read for this id ?
+     * @param identifier The layer name, for error messages
+     * @return The new number of tiles stored
+     * @throws IOException If the id is empty or the layer is already full
+     */
+    private int storeTile(int[] tilemap, int count, int value, boolean hasDigit, CharSequence identifier) throws IOException {
+        if (!hasDigit) {
+            throw new IOException("Empty tile id in layer " + identifier + ".");
+        }
+
+        if (count == tilemap.length) {
+            throw new IOException("Layer " + identifier + " has more than " + width + "x" + height + " tiles.");
+        }
+
+        tilemap[count] = value;
+        return count + 1;
     }
 
     /**
@@ -181,6 +513,12 @@ public class Reader {
      */
     public LinkedHashMap<Integer, BufferedImage> getTilesets() {return tilesets;}
 
+    /**
+     * @brief Getter function for tilesets file names
+     * @return The tilesets file names
+     */
+    public LinkedHashMap<Integer, String> getTilesetNames() {return tilesetNames;}
+
     /**
      * @brief Getter function for layers
      * @return The layers
@@ -210,4 +548,28 @@ public class Reader {
      * @return the wall layer names
      */
     public String[] getWalls() {return walls;}
+
+    /**
+     * @brief Getter function for the length of the .MAPDATA the map comes from
+     * @return the length in bytes, -1 if unknown
+     */
+    long getSourceLength() {return sourceLength;}
+
+    /**
+     * @brief Getter function for the modification time of the .MAPDATA the map comes from
+     * @return the modification time in milliseconds, 0 if unknown
+     */
+    long getSourceModified() {return sourceModified;}
+
+    /**
+     * @brief Getter function for the CRC-32 of the .MAPDATA the map comes from
+     * @return the CRC-32
+     */
+    int getSourceCrc() {return sourceCrc;}
+
+    /**
+     * @brief Tell if the .MAPBIN should be written again from what was read
+     * @return true if it was allowed but missing, out of date or unreadable
+     */
+    public boolean isBinaryStale() {return binaryStale;}
 }
\ No newline at end of file